@@ -0,0 +1,105 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for the /api/config endpoints.
+ * <p>
+ * Each of {@code concurrency} virtual-thread clients cycles through the paths and records every
+ * latency. After a warm-up, prints throughput and p50/p99/p99.9/max in milliseconds.
+ * <p>
+ * Usage: {@code java LoadTest.java <baseUrl> <concurrency> <seconds> [warmupSeconds]}
+ */
+public class LoadTest {
+
+    private static final String[] PATHS = {
+            "/api/config/current",
+            "/api/config/flags",
+            "/api/config/feature/invoicing",
+            "/api/config/feature/beta.newDashboard?subject=user-42"
+    };
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        int concurrency = Integer.parseInt(args[1]);
+        int seconds = Integer.parseInt(args[2]);
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest[] requests = Arrays.stream(PATHS)
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path)).build())
+                .toArray(HttpRequest[]::new);
+
+        run(client, requests, concurrency, warmupSeconds, false);
+        run(client, requests, concurrency, seconds, true);
+    }
+
+    private static void run(HttpClient client, HttpRequest[] requests, int concurrency,
+                            int seconds, boolean report) throws InterruptedException {
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                int id = c;
+                clients.submit(() -> {
+                    long[] samples = new long[1 << 12];
+                    int n = 0;
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(requests[n % requests.length],
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = System.nanoTime() - start;
+                    }
+                    latencies[id] = samples;
+                    counts[id] = n;
+                });
+            }
+        }
+
+        if (!report) {
+            return;
+        }
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+
+        System.out.printf("concurrency=%d requests=%d rps=%.0f errors=%d p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                concurrency, total, total / (double) seconds, errors.get(),
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
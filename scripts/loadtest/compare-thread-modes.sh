@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Compares /api/config/* latency with platform pools vs virtual threads.
+#
+# Usage: scripts/loadtest/compare-thread-modes.sh [concurrency] [seconds]
+# Requires a packaged jar (./mvnw -DskipTests package) and Java 21.
+set -euo pipefail
+
+CONCURRENCY=${1:-500}
+SECONDS_PER_RUN=${2:-30}
+PORT=${PORT:-18080}
+DIR="$(cd "$(dirname "$0")" && pwd)"
+JAR=$(ls "$DIR"/../../target/*.jar | grep -v original | head -1)
+
+for VIRTUAL in false true; do
+  java -jar "$JAR" --server.port="$PORT" \
+    --spring.threads.virtual.enabled="$VIRTUAL" \
+    --spring.docker.compose.enabled=false > "/tmp/loadtest-virtual-$VIRTUAL.log" 2>&1 &
+  APP=$!
+  trap 'kill $APP 2>/dev/null' EXIT
+
+  for _ in $(seq 1 60); do
+    curl -sf "localhost:$PORT/api/config/current" > /dev/null && break
+    sleep 1
+  done
+
+  echo -n "virtual=$VIRTUAL "
+  java "$DIR/LoadTest.java" "http://localhost:$PORT" "$CONCURRENCY" "$SECONDS_PER_RUN"
+
+  kill $APP
+  wait $APP 2>/dev/null || true
+done
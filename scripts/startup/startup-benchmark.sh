@@ -0,0 +1,95 @@
+#!/usr/bin/env bash
+# Cold start of the JVM and native builds: time until /actuator/health reports UP, and the
+# resident memory (RSS) once ready, against the 1 GB container budget of the Dockerfile.
+#
+# Usage: scripts/startup/startup-benchmark.sh [runs]
+# Measures every mode whose artifact is present in target/:
+#   jvm      the jar                                   (./mvnw clean package -DskipTests)
+#   jvm-aot  the same jar, AOT-processed, on the JVM   (./mvnw clean package -Pnative -DskipTests)
+#   native   target/solopreneur-web-platform           (./mvnw -Pnative -DskipTests native:compile)
+# An AOT-processed jar also carries the pre-parsed defaults in jvm mode; build without -Pnative
+# (after a clean) for the plain JVM baseline.
+# Every run starts with no config directory and no persisted snapshot (first boot of a
+# container). Linux only: RSS is read from /proc.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18081}
+BUDGET_MB=1024
+HEAP_FLAGS=(-Xms128m -Xmx512m)
+DIR="$(cd "$(dirname "$0")" && pwd)"
+TARGET="$(cd "$DIR/../../target" && pwd)"
+JAR=$(ls "$TARGET"/*.jar 2>/dev/null | grep -v original | head -1 || true)
+NATIVE="$TARGET/solopreneur-web-platform"
+WORK=$(mktemp -d)
+APP=
+trap '[ -n "$APP" ] && kill $APP 2>/dev/null; rm -rf "$WORK"' EXIT
+
+ARGS=(--server.port="$PORT" --spring.docker.compose.enabled=false
+      --app.config.dir="$WORK/config" --app.config.snapshot.file="$WORK/config.snapshot")
+
+launch() {
+  case "$1" in
+    jvm) exec java "${HEAP_FLAGS[@]}" -jar "$JAR" "${ARGS[@]}" ;;
+    jvm-aot) exec java "${HEAP_FLAGS[@]}" -Dspring.aot.enabled=true -jar "$JAR" "${ARGS[@]}" ;;
+    native) exec "$NATIVE" "${HEAP_FLAGS[@]}" "${ARGS[@]}" ;;
+  esac
+}
+
+kb() {
+  awk -v key="$1:" '$1 == key { print $2 }' "/proc/$2/status"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+MODES=()
+if [ -n "$JAR" ]; then
+  MODES+=(jvm)
+  # Build com -Pnative: o jar traz o inicializador gerado pelo AOT
+  jar tf "$JAR" | grep -q '__ApplicationContextInitializer' && MODES+=(jvm-aot)
+fi
+[ -x "$NATIVE" ] && MODES+=(native)
+if [ ${#MODES[@]} -eq 0 ]; then
+  echo "Nothing to measure: build the jar or the native image first" >&2
+  exit 1
+fi
+
+printf '%-8s %5s %12s %12s %12s %12s  %s\n' mode runs "ready(ms)" "ready-max" "rss(MB)" "peak(MB)" "budget ${BUDGET_MB}MB"
+for MODE in "${MODES[@]}"; do
+  : > "$WORK/ready" ; : > "$WORK/rss" ; : > "$WORK/peak"
+  for RUN in $(seq 1 "$RUNS"); do
+    rm -f "$WORK/config.snapshot"
+    START=$(date +%s%N)
+    launch "$MODE" > "$WORK/$MODE-$RUN.log" 2>&1 &
+    APP=$!
+
+    READY=
+    for _ in $(seq 1 3000); do
+      if curl -sf "localhost:$PORT/actuator/health" 2>/dev/null | grep -q '"status":"UP"'; then
+        READY=$(( ($(date +%s%N) - START) / 1000000 ))
+        break
+      fi
+      kill -0 $APP 2>/dev/null || break
+      sleep 0.02
+    done
+    if [ -z "$READY" ]; then
+      echo "$MODE run $RUN did not become ready; see $WORK/$MODE-$RUN.log" >&2
+      cat "$WORK/$MODE-$RUN.log" >&2
+      exit 1
+    fi
+
+    echo "$READY" >> "$WORK/ready"
+    echo $(( $(kb VmRSS $APP) / 1024 )) >> "$WORK/rss"
+    echo $(( $(kb VmHWM $APP) / 1024 )) >> "$WORK/peak"
+    kill $APP
+    wait $APP 2>/dev/null || true
+    APP=
+  done
+
+  PEAK=$(sort -n "$WORK/peak" | tail -1)
+  printf '%-8s %5s %12s %12s %12s %12s  %s\n' "$MODE" "$RUNS" "$(median < "$WORK/ready")" \
+    "$(sort -n "$WORK/ready" | tail -1)" "$(median < "$WORK/rss")" "$PEAK" \
+    "$([ "$PEAK" -le "$BUDGET_MB" ] && echo ok || echo OVER)"
+done
@@ -0,0 +1,59 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Builds an {@link AppConfigurationService} outside Spring, wired to the bundled config files,
+ * with no-op event publishing and messaging so only the service itself is measured.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    static AppConfigurationService newService() {
+        ConfigMetrics metrics = new ConfigMetrics(new SimpleMeterRegistry());
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, Thread.ofPlatform().daemon().factory());
+        ObjectMapper objectMapper = objectMapper();
+        ConfigCodecs codecs = new ConfigCodecs(objectMapper);
+        ConfigHistory history = new ConfigHistory(20);
+        ConfigSnapshotStore snapshotStore = new ConfigSnapshotStore(codecs, false, Path.of("config.snapshot"));
+        ConfigNotifier notifier = new ConfigNotifier(objectMapper, codecs, event -> {
+        }, new SimpMessagingTemplate((message, timeout) -> true),
+                new ConfigEventStream(scheduler, metrics, 32, Duration.ofSeconds(15)), new ConfigPatchLog(64));
+        // Lidos pelo mesmo caminho de produção (FileChannel), a partir do diretório do projeto
+        Path configDir = Path.of("src/main/resources/config");
+        ConfigLoader loader = new ConfigLoader(objectMapper, codecs, metrics, history, notifier, snapshotStore,
+                scheduler, configDir);
+        AppConfigurationService service = new AppConfigurationService(
+                objectMapper,
+                loader,
+                metrics,
+                history,
+                notifier,
+                snapshotStore,
+                new ConfigClusterSync(loader, new ConfigCluster(objectMapper, "", "benchmark"), metrics, scheduler,
+                        Duration.ofSeconds(1)),
+                new ConfigWatcher(metrics, scheduler, configDir, Duration.ofMillis(500)),
+                scheduler);
+
+        ReflectionTestUtils.setField(service, "reloadTimeout", Duration.ofSeconds(30));
+
+        service.forceReload();
+        return service;
+    }
+}
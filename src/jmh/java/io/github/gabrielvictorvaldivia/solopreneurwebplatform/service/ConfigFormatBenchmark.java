@@ -0,0 +1,66 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.AppConfig;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.BusinessProfile;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size, encode and decode cost of the {@code /api/config/current} document built from the bundled
+ * files, in each {@link ConfigFormat}. Decoding binds the typed models, as a native client would.
+ * Encoded sizes are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private ConfigFormat format;
+
+    private ObjectMapper mapper;
+    private Map<String, Object> document;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        mapper = new ConfigCodecs(objectMapper).mapper(format);
+
+        document = new LinkedHashMap<>();
+        for (ConfigSection section : ConfigSection.values()) {
+            byte[] content = new ClassPathResource("config/" + section.getFileName()).getContentAsByteArray();
+            document.put(section.getKey(), objectMapper.readValue(content, section.getType()));
+        }
+        encoded = mapper.writeValueAsBytes(document);
+        System.out.printf("%n%s: %d bytes%n", format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(document);
+    }
+
+    @Benchmark
+    public CurrentDocument decode() throws Exception {
+        return mapper.readValue(encoded, CurrentDocument.class);
+    }
+
+    // Forma de /api/config/current vista por um cliente
+    public static class CurrentDocument {
+        public AppConfig app;
+        public BusinessProfile business;
+        public UiConfig ui;
+        public FeatureFlags features;
+    }
+}
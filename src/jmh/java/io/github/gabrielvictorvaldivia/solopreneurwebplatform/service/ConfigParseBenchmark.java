@@ -0,0 +1,42 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-file cost paid on reloads: fingerprinting and Jackson parsing of each bundled file.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigParseBenchmark {
+
+    @Param({"APP", "BUSINESS", "UI", "FEATURES"})
+    private ConfigSection section;
+
+    private ObjectMapper objectMapper;
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        content = new ClassPathResource("config/" + section.getFileName()).getContentAsByteArray();
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return objectMapper.readValue(content, section.getType());
+    }
+
+    @Benchmark
+    public long fingerprint() {
+        return XxHash64.hash(ByteBuffer.wrap(content));
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-path reads of {@link AppConfigurationService} and {@link ConfigClient}: flag checks,
+ * getters, typed keys and the cached {@code /api/config/current} body, next to the Jackson
+ * serialization every request used to pay.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigReadBenchmark {
+
+    private AppConfigurationService service;
+    private ConfigClient client;
+    private ObjectMapper objectMapper;
+    private Map<String, Object> document;
+
+    @Setup
+    public void setUp() {
+        service = BenchmarkFixtures.newService();
+        client = new ConfigClient(service::getSnapshot, Runnable::run);
+        objectMapper = BenchmarkFixtures.objectMapper();
+
+        ConfigurationSnapshot snapshot = service.getSnapshot();
+        document = new LinkedHashMap<>();
+        for (ConfigSection section : ConfigSection.values()) {
+            document.put(section.getKey(), snapshot.get(section));
+        }
+    }
+
+    @Benchmark
+    public boolean isFeatureEnabledModule() {
+        return service.isFeatureEnabled("timeTracking");
+    }
+
+    @Benchmark
+    public boolean isFeatureEnabledPath() {
+        return service.isFeatureEnabled("permissions.canExportData");
+    }
+
+    @Benchmark
+    public boolean isFeatureEnabledUnknown() {
+        return service.isFeatureEnabled("modules.unknown");
+    }
+
+    @Benchmark
+    public String getCompanyDisplayName() {
+        return service.getCompanyDisplayName();
+    }
+
+    @Benchmark
+    public String getPrimaryColor() {
+        return service.getPrimaryColor();
+    }
+
+    @Benchmark
+    public String clientPrimaryColor() {
+        return client.get(ConfigClient.PRIMARY_COLOR);
+    }
+
+    @Benchmark
+    public int clientAutoRefresh() {
+        return client.get(ConfigClient.DASHBOARD_AUTO_REFRESH);
+    }
+
+    @Benchmark
+    public SerializedConfig getCurrentJson() {
+        return service.getCurrentJson();
+    }
+
+    @Benchmark
+    public byte[] serializeCurrentDocument() throws Exception {
+        return objectMapper.writeValueAsBytes(document);
+    }
+}
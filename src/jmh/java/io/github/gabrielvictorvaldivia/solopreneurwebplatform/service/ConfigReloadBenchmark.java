@@ -0,0 +1,55 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reloads running against concurrent readers. The "forced" group republishes every file
+ * (read, parse, serialize, compile flags, broadcast); the "unchanged" group goes through the
+ * watcher path, where the content hash short-circuits the reload. Reader scores show how much
+ * a reload in flight costs the request path.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class ConfigReloadBenchmark {
+
+    private AppConfigurationService service;
+
+    @Setup
+    public void setUp() {
+        service = BenchmarkFixtures.newService();
+    }
+
+    @Benchmark
+    @Group("forced")
+    @GroupThreads(1)
+    public void forcedReload() {
+        service.forceReload();
+    }
+
+    @Benchmark
+    @Group("forced")
+    @GroupThreads(3)
+    public boolean forcedReader() {
+        return service.isFeatureEnabled("invoicing") && service.getPrimaryColor() != null;
+    }
+
+    @Benchmark
+    @Group("unchanged")
+    @GroupThreads(1)
+    public void unchangedReload() {
+        service.reloadConfiguration(ConfigSection.UI.getFileName()).await();
+    }
+
+    @Benchmark
+    @Group("unchanged")
+    @GroupThreads(3)
+    public boolean unchangedReader() {
+        return service.isFeatureEnabled("invoicing") && service.getPrimaryColor() != null;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-evaluation cost of the compiled targeting rules against the bundled feature-flags.json.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeatureFlagRulesBenchmark {
+
+    private FeatureFlagRules rules;
+    private String[] subjects;
+    private Map<String, String> attributes;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        FeatureFlags flags = objectMapper.readValue(
+                new ClassPathResource("config/feature-flags.json").getInputStream(), FeatureFlags.class);
+        FeatureFlagIndex index = FeatureFlagIndex.compile(flags, objectMapper);
+        rules = FeatureFlagRules.compile(flags, index);
+
+        subjects = new String[1024];
+        for (int i = 0; i < subjects.length; i++) {
+            subjects[i] = "user-" + i;
+        }
+        attributes = Map.of("plan", "pro");
+    }
+
+    private String nextSubject() {
+        return subjects[next++ & (subjects.length - 1)];
+    }
+
+    @Benchmark
+    public boolean percentageRollout() {
+        return rules.isEnabled("beta.newDashboard", nextSubject(), attributes);
+    }
+
+    @Benchmark
+    public boolean flagWithoutRule() {
+        return rules.isEnabled("modules.invoicing", nextSubject(), attributes);
+    }
+}
@@ -1,24 +1,91 @@
 package io.github.gabrielvictorvaldivia.solopreneurwebplatform.config;
 
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.RejectedTaskCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Executors for configuration work. {@code spring.threads.virtual.enabled} switches between
+ * the bounded platform pools and virtual threads; the request side is switched in {@link UndertowConfig}.
+ */
 @Configuration
-@EnableAsync
 public class AsyncConfig {
 
+    /**
+     * Runs the configuration reloads and the snapshot writes, submitted explicitly by
+     * AppConfigurationService.
+     */
+    // Criado no startup mesmo com lazy-initialization, para expor as métricas desde o início
     @Bean(name = "configTaskExecutor")
-    public Executor configTaskExecutor() {
+    @Lazy(false)
+    public Executor configTaskExecutor(MeterRegistry meterRegistry,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        if (virtual) {
+            // Uma virtual thread por tarefa: sem fila e sem rejeição
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Config-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(4);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("Config-");
+        executor.setRejectedExecutionHandler(new RejectedTaskCounter("configTaskExecutor", meterRegistry));
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * Timers for the watcher debounce and polling fallback, plus the blocking watch loop itself.
+     * In virtual mode the pool threads are virtual, so the blocked watcher holds no carrier thread.
+     */
+    @Bean(name = "configScheduler", destroyMethod = "shutdownNow")
+    public ScheduledExecutorService configScheduler(MeterRegistry meterRegistry,
+                                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        ThreadFactory threadFactory = virtual
+                ? Thread.ofVirtual().name("Config-Watch-", 1).factory()
+                : Thread.ofPlatform().name("Config-Watch-", 1).daemon().factory();
+
+        ScheduledThreadPoolExecutor scheduler = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(2, threadFactory);
+        scheduler.setRejectedExecutionHandler(new RejectedTaskCounter("configScheduler", meterRegistry));
+        new ExecutorServiceMetrics(scheduler, "configScheduler", Tags.empty()).bindTo(meterRegistry);
+        return scheduler;
+    }
+
+    /**
+     * Delivers config change notifications to in-process listeners (ConfigClient), one batch at a
+     * time and in version order. A single thread: a slow listener delays only later notifications.
+     */
+    @Bean(name = "configListenerExecutor", destroyMethod = "shutdown")
+    public ExecutorService configListenerExecutor(MeterRegistry meterRegistry,
+                                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        ThreadFactory threadFactory = virtual
+                ? Thread.ofVirtual().name("Config-Listener-", 1).factory()
+                : Thread.ofPlatform().name("Config-Listener-", 1).daemon().factory();
+
+        // Fila sem limite, mas o ConfigClient mantém no máximo uma entrega pendente
+        ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        new ExecutorServiceMetrics(executor, "configListenerExecutor", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Spring Boot only switches Tomcat and Jetty to virtual threads, so Undertow is wired here:
+ * with {@code spring.threads.virtual.enabled=true} every servlet request is dispatched to its
+ * own virtual thread instead of the XNIO worker pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class UndertowConfig {
+
+    @Bean
+    public UndertowDeploymentInfoCustomizer virtualThreadDeploymentCustomizer() {
+        return deploymentInfo -> {
+            deploymentInfo.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            deploymentInfo.setAsyncExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.config;
+
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.controller.ConfigStreamServlet;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.RouteInFlightInterceptor;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.AppConfigurationService;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.ConfigCodecs;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.ConfigFormat;
+import io.micrometer.observation.ObservationPredicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final RouteInFlightInterceptor routeInFlightInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Requisições em andamento por rota
+        registry.addInterceptor(routeInFlightInterceptor);
+    }
+
+    // Mapeamento exato: tem precedência sobre o DispatcherServlet em "/"
+    @Bean
+    public ServletRegistrationBean<ConfigStreamServlet> configStreamServlet(AppConfigurationService configService) {
+        ServletRegistrationBean<ConfigStreamServlet> registration =
+                new ServletRegistrationBean<>(new ConfigStreamServlet(configService), ConfigStreamServlet.PATH);
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+
+    // Respostas não pré-serializadas (histórico, diff, flags avulsas) também negociam CBOR e Smile,
+    // com os mesmos mappers dos corpos pré-serializados em vez dos padrões do Spring
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ConfigCodecs codecs) {
+        return new MappingJackson2CborHttpMessageConverter(codecs.mapper(ConfigFormat.CBOR));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ConfigCodecs codecs) {
+        return new MappingJackson2SmileHttpMessageConverter(codecs.mapper(ConfigFormat.SMILE));
+    }
+
+    // Conexões SSE ficam abertas por horas: o contexto de observação ficaria retido em cada uma.
+    // A latência do stream continua em http.route.latency.
+    @Bean
+    public ObservationPredicate skipConfigStreamObservation() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext request
+                && ConfigStreamServlet.PATH.equals(request.getCarrier().getRequestURI()));
+    }
+}
@@ -1,15 +1,47 @@
 package io.github.gabrielvictorvaldivia.solopreneurwebplatform.config;
 
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.RejectedTaskCounter;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.ConfigUpdateConflater;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final ConfigUpdateConflater configUpdateConflater;
+    private final MeterRegistry meterRegistry;
+
+    // Pool que entrega mensagens às sessões; fila limitada em vez do padrão ilimitado
+    @Value("${app.websocket.outbound.core-pool-size:4}")
+    private int outboundCorePoolSize;
+
+    @Value("${app.websocket.outbound.max-pool-size:8}")
+    private int outboundMaxPoolSize;
+
+    @Value("${app.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    // Limites por sessão: excedidos, a sessão é encerrada
+    @Value("${app.websocket.send-buffer-size-limit:512KB}")
+    private DataSize sendBufferSizeLimit;
+
+    @Value("${app.websocket.send-time-limit:10s}")
+    private Duration sendTimeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple memory-based message broker
@@ -24,4 +56,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(outboundCorePoolSize);
+        executor.setMaxPoolSize(outboundMaxPoolSize);
+        executor.setQueueCapacity(outboundQueueCapacity);
+        executor.setThreadNamePrefix("clientOutboundChannel-");
+        executor.setRejectedExecutionHandler(new RejectedTaskCounter("clientOutboundChannelExecutor", meterRegistry));
+
+        registration.executor(executor);
+        registration.interceptors(configUpdateConflater);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit((int) sendBufferSizeLimit.toBytes());
+        registration.setSendTimeLimit((int) sendTimeLimit.toMillis());
+        registration.addDecoratorFactory(configUpdateConflater::decorate);
+    }
 }
@@ -1,32 +1,71 @@
 package io.github.gabrielvictorvaldivia.solopreneurwebplatform.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.AppConfigurationService;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.ConfigFormat;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.ConfigHistory;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.ConfigReload;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.ConfigSection;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.ContentCoding;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.ConfigurationSnapshot;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.FeatureFlagVectors;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.SerializedConfig;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.SerializedSection;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.TenantConfigStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Configuration endpoints. Reads of the current configuration ({@code /current}, sections, flags)
+ * are resolved per request for the tenant in {@code X-Tenant-ID}. Version-chain endpoints
+ * ({@code /patches}, {@code /history*}, {@code /stream}) cover the base only: tenant versions come
+ * from their own counter, so with the header {@code /patches} answers 410, sending the client to
+ * its tenant's {@code /current}, and the others answer 400.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/config")
 @RequiredArgsConstructor
 public class ConfigController {
 
+    private static final String ALL_FLAGS = "all";
+    private static final String CONFIG_VERSION_HEADER = "X-Config-Version";
+    // Sem o cabeçalho vale a configuração base
+    static final String TENANT_HEADER = "X-Tenant-ID";
+
     private final AppConfigurationService configService;
+    private final TenantConfigStore tenantStore;
+
+    // Espera máxima de um reload síncrono; depois disso a resposta é 202 com o ID para consulta
+    @Value("${app.config.reload.timeout:30s}")
+    private Duration reloadTimeout;
 
     @GetMapping("/current")
-    public ResponseEntity<Map<String, Object>> getCurrentConfigurations() {
+    public ResponseEntity<byte[]> getCurrentConfigurations(@RequestHeader(name = TENANT_HEADER, required = false) String tenant,
+                                                           WebRequest request) {
         try {
-            Map<String, Object> configs = Map.of(
-                    "app", configService.getAppConfig(),
-                    "business", configService.getBusinessProfile(),
-                    "ui", configService.getUiConfig(),
-                    "features", configService.getFeatureFlags()
-            );
-
-            return ResponseEntity.ok(configs);
+            // Bytes serializados na publicação do snapshot, em cada formato: nada de Jackson por requisição
+            ConfigurationSnapshot snapshot = snapshot(tenant);
+            if (snapshot == null) {
+                return ResponseEntity.notFound().build();
+            }
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(CONFIG_VERSION_HEADER, String.valueOf(snapshot.getVersion()));
+            return cached(snapshot.getCurrentJson(), request, headers);
 
         } catch (Exception e) {
             log.error("Erro ao buscar configurações: {}", e.getMessage());
@@ -34,22 +73,245 @@ public class ConfigController {
         }
     }
 
-    @PostMapping("/reload")
-    public ResponseEntity<String> forceReload() {
+    // Uma seção (app, business, ui, features), ou uma subárvore dela: ?pointer=/branding/primaryColor
+    @GetMapping("/{section}")
+    public ResponseEntity<byte[]> getSection(@PathVariable String section,
+                                             @RequestParam(required = false) String pointer,
+                                             @RequestHeader(name = TENANT_HEADER, required = false) String tenant,
+                                             WebRequest request) {
+        ConfigSection configSection = ConfigSection.fromKey(section);
+        if (configSection == null) {
+            return ResponseEntity.notFound().build();
+        }
+
         try {
-            configService.forceReload();
-            return ResponseEntity.ok("Configurações recarregadas com sucesso!");
+            ConfigurationSnapshot snapshot = snapshot(tenant);
+            if (snapshot == null) {
+                return ResponseEntity.notFound().build();
+            }
+            SerializedSection serialized = snapshot.getSection(configSection);
+            if (serialized == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+
+            SerializedConfig body = pointer == null ? serialized.getBody() : serialized.at(pointer);
+            if (body == null) {
+                return ResponseEntity.notFound().build();
+            }
 
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(CONFIG_VERSION_HEADER, String.valueOf(snapshot.getVersion()));
+            return cached(body, request, headers);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
-            log.error("Erro ao recarregar configurações: {}", e.getMessage());
+            log.error("Erro ao buscar seção {}: {}", section, e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Cadeia de deltas desde uma versão; 410 quando o cliente precisa buscar /current.
+    // Tenants não têm log de deltas: com o cabeçalho, sempre 410
+    @GetMapping("/patches")
+    public ResponseEntity<byte[]> getPatches(@RequestParam long since,
+                                             @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+        if (tenant != null) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        byte[] patches = configService.getPatchesSince(since);
+        if (patches == null) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(patches);
+    }
+
+    // O histórico é só da configuração base
+    @GetMapping("/history")
+    public ResponseEntity<List<ConfigHistory.VersionSummary>> getHistory(
+            @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+        if (tenant != null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(configService.getHistory());
+    }
+
+    @GetMapping("/history/{version}")
+    public ResponseEntity<byte[]> getVersion(@PathVariable long version,
+                                             @RequestHeader(name = TENANT_HEADER, required = false) String tenant,
+                                             WebRequest request) {
+        if (tenant != null) {
+            return ResponseEntity.badRequest().build();
+        }
+        ConfigurationSnapshot snapshot = configService.getVersion(version);
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return cached(snapshot.getCurrentJson(), request);
+    }
+
+    @GetMapping("/history/diff")
+    public ResponseEntity<JsonNode> diffVersions(@RequestParam long from, @RequestParam long to,
+                                                 @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+        if (tenant != null) {
+            return ResponseEntity.badRequest().build();
+        }
+        JsonNode patch = configService.diffVersions(from, to);
+        return patch == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(patch);
+    }
+
+    // Enfileirado no pipeline de reloads; passado o app.config.reload.timeout, responde 202 com o ID para consulta
+    @PostMapping("/history/{version}/rollback")
+    public ResponseEntity<String> rollback(@PathVariable long version,
+                                           @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+        if (tenant != null) {
+            return ResponseEntity.badRequest().body("Rollback só existe para a configuração base");
+        }
+        ConfigReload reload = configService.rollbackTo(version);
+        if (reload == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!reload.await(reloadTimeout).isDone()) {
+            log.warn("⏳ Rollback {} ainda em andamento após {}", reload.getId(), reloadTimeout);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/config/reload/" + reload.getId()))
+                    .body("Rollback para v" + version + " em andamento");
+        }
+
+        if (reload.getStatus() == ConfigReload.Status.FAILED) {
+            log.error("Erro no rollback para v{}: {}", version, reload.getError());
             return ResponseEntity.internalServerError()
-                    .body("Erro ao recarregar configurações: " + e.getMessage());
+                    .body("Erro no rollback: " + reload.getError());
+        }
+        if (reload.getChanged().isEmpty()) {
+            return ResponseEntity.ok("v" + reload.getVersion() + " já tem o conteúdo de v" + version + "; nada publicado");
         }
+        return ResponseEntity.ok("Rollback para v" + version + " publicado como v" + reload.getVersion());
     }
 
+    // Pedidos simultâneos compartilham a mesma recarga; async=true, ou um reload que passa do
+    // app.config.reload.timeout, responde 202 com o ID para consulta
+    @PostMapping("/reload")
+    public ResponseEntity<ConfigReload> forceReload(@RequestParam(defaultValue = "false") boolean async) {
+        ConfigReload reload = configService.requestReload();
+        boolean pending = async || !reload.await(reloadTimeout).isDone();
+        if (pending) {
+            if (!async) {
+                log.warn("⏳ Reload {} ainda em andamento após {}", reload.getId(), reloadTimeout);
+            }
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/config/reload/" + reload.getId()))
+                    .body(reload);
+        }
+
+        if (reload.getStatus() == ConfigReload.Status.FAILED) {
+            log.error("Erro ao recarregar configurações: {}", reload.getError());
+            return ResponseEntity.internalServerError().body(reload);
+        }
+        return ResponseEntity.ok(reload);
+    }
+
+    @GetMapping("/reload/{id}")
+    public ResponseEntity<ConfigReload> getReload(@PathVariable long id) {
+        ConfigReload reload = configService.getReload(id);
+        return reload == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(reload);
+    }
+
+    // subject = ID do usuário; os demais parâmetros são atributos para as regras de targeting
     @GetMapping("/feature/{feature}")
-    public ResponseEntity<Boolean> isFeatureEnabled(@PathVariable String feature) {
-        boolean enabled = configService.isFeatureEnabled(feature);
-        return ResponseEntity.ok(enabled);
+    public ResponseEntity<Boolean> isFeatureEnabled(@PathVariable String feature,
+                                                    @RequestParam(required = false) String subject,
+                                                    @RequestParam Map<String, String> attributes,
+                                                    @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+        ConfigurationSnapshot snapshot = snapshot(tenant);
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // As regras ignoram a entrada subject que o map de parâmetros também traz
+        return ResponseEntity.ok(snapshot.getFlagRules().isEnabled(feature, subject, attributes));
+    }
+
+    // Avaliação em lote: names=all (padrão) ou lista separada por vírgulas; format=json|packed
+    @GetMapping("/flags")
+    public ResponseEntity<?> getFlags(@RequestParam(defaultValue = ALL_FLAGS) List<String> names,
+                                      @RequestParam(defaultValue = "json") String format,
+                                      @RequestHeader(name = TENANT_HEADER, required = false) String tenant,
+                                      WebRequest request) {
+        ConfigurationSnapshot snapshot = snapshot(tenant);
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+        FeatureFlagVectors vectors = snapshot.getFlagVectors();
+        boolean packed = "packed".equalsIgnoreCase(format);
+
+        if (names.size() == 1 && ALL_FLAGS.equalsIgnoreCase(names.get(0))) {
+            return cached(packed ? vectors.getPackedJson() : vectors.getAllJson(), request);
+        }
+
+        return packed
+                ? ResponseEntity.ok(vectors.toPacked(names))
+                : ResponseEntity.ok(vectors.toMap(names));
+    }
+
+    @GetMapping("/flags/dictionary")
+    public ResponseEntity<byte[]> getFlagDictionary(@RequestHeader(name = TENANT_HEADER, required = false) String tenant,
+                                                    WebRequest request) {
+        ConfigurationSnapshot snapshot = snapshot(tenant);
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return cached(snapshot.getFlagVectors().getDictionaryJson(), request);
+    }
+
+    // Configuração do tenant da requisição, ou a base sem o cabeçalho; null para tenant desconhecido
+    private ConfigurationSnapshot snapshot(String tenant) {
+        return tenant == null ? configService.getSnapshot() : tenantStore.getSnapshot(tenant);
+    }
+
+    // Resposta pré-serializada no formato do Accept e já comprimida conforme o Accept-Encoding,
+    // com ETag forte por variante; 304 quando o cliente já tem a versão
+    private ResponseEntity<byte[]> cached(SerializedConfig serialized, WebRequest request) {
+        return cached(serialized, request, HttpHeaders.EMPTY);
+    }
+
+    private ResponseEntity<byte[]> cached(SerializedConfig serialized, WebRequest request, HttpHeaders headers) {
+        if (serialized == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        ConfigFormat format = negotiate(request);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+
+        SerializedConfig.Representation representation =
+                serialized.select(format, request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (request.checkNotModified(representation.getEtag())) {
+            return null; // 304 Not Modified
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .headers(headers)
+                .contentType(format.getMediaType())
+                .cacheControl(CacheControl.noCache())
+                .eTag(representation.getEtag())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, TENANT_HEADER);
+        if (representation.getCoding() != ContentCoding.IDENTITY) {
+            // Com Content-Encoding definido, a compressão do Undertow não age de novo
+            response.header(HttpHeaders.CONTENT_ENCODING, representation.getCoding().getToken());
+        }
+        return response.body(representation.getBody());
+    }
+
+    // JSON, CBOR ou Smile; um Accept malformado vale como ausente
+    private static ConfigFormat negotiate(WebRequest request) {
+        try {
+            return ConfigFormat.negotiate(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException e) {
+            return ConfigFormat.JSON;
+        }
     }
 }
@@ -0,0 +1,62 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.controller;
+
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.service.AppConfigurationService;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * {@code GET /api/config/stream}: Server-Sent Events alternative to the STOMP topic.
+ * <p>
+ * A plain async servlet rather than a controller method, so a long-lived idle connection keeps
+ * only the container's request state and none of the per-request state of the DispatcherServlet.
+ * Browsers' {@code EventSource} resends {@code Last-Event-ID} (the config version) on reconnect.
+ * The stream carries the base configuration only; requests with {@code X-Tenant-ID} get a 400.
+ */
+@RequiredArgsConstructor
+public class ConfigStreamServlet extends HttpServlet {
+
+    public static final String PATH = "/api/config/stream";
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final transient AppConfigurationService configService;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // As versões dos tenants têm outro contador; o Last-Event-ID não serviria ao replay
+        if (request.getHeader(ConfigController.TENANT_HEADER) != null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Stream not available per tenant");
+            return;
+        }
+
+        Long lastEventId;
+        try {
+            String header = request.getHeader(LAST_EVENT_ID);
+            lastEventId = header == null || header.isBlank() ? null : Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid " + LAST_EVENT_ID);
+            return;
+        }
+
+        // Rota para as métricas de latência, como nos endpoints do DispatcherServlet
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATH);
+
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Desliga o buffering de proxies como o nginx
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext context = request.startAsync();
+        context.setTimeout(0);
+        configService.openStream(lastEventId, context);
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Meters of the configuration reload pipeline, registered once and reused on every event.
+ */
+@Component
+public class ConfigMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Counter watchEvents;
+    private final Counter coalescedEvents;
+    private final Counter reloads;
+    private final Counter coalescedReloadRequests;
+    private final Counter unchangedFiles;
+    private final Counter changedFiles;
+    private final Counter droppedStreamSubscribers;
+    private final Counter conflatedStompMessages;
+    private final Counter droppedStompSessions;
+    // Por etapa do pipeline de reload (read, parse, validate, compile, publish)
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> stageFailures = new ConcurrentHashMap<>();
+
+    public ConfigMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.watchEvents = Counter.builder("config.watch.events")
+                .description("Raw file system events for configuration files")
+                .register(meterRegistry);
+        this.coalescedEvents = Counter.builder("config.watch.events.coalesced")
+                .description("Events merged into an already pending reload")
+                .register(meterRegistry);
+        this.reloads = Counter.builder("config.reloads")
+                .description("Snapshot swaps caused by configuration reloads")
+                .register(meterRegistry);
+        this.coalescedReloadRequests = Counter.builder("config.reload.requests.coalesced")
+                .description("Reload requests that joined a reload already running or queued")
+                .register(meterRegistry);
+        this.unchangedFiles = Counter.builder("config.reload.files")
+                .description("Files checked on reload, by content-hash result")
+                .tag("result", "unchanged")
+                .register(meterRegistry);
+        this.changedFiles = Counter.builder("config.reload.files")
+                .description("Files checked on reload, by content-hash result")
+                .tag("result", "changed")
+                .register(meterRegistry);
+        this.droppedStreamSubscribers = Counter.builder("config.stream.dropped")
+                .description("SSE subscribers disconnected because their buffer filled up")
+                .register(meterRegistry);
+        this.conflatedStompMessages = Counter.builder("config.stomp.conflated")
+                .description("Config updates replaced by a newer version before reaching a slow STOMP session")
+                .register(meterRegistry);
+        this.droppedStompSessions = Counter.builder("config.stomp.sessions.dropped")
+                .description("STOMP sessions closed for exceeding the send buffer or time limit")
+                .register(meterRegistry);
+    }
+
+    public void watchEvent() {
+        watchEvents.increment();
+    }
+
+    public void coalescedEvent() {
+        coalescedEvents.increment();
+    }
+
+    public void reload() {
+        reloads.increment();
+    }
+
+    public void reloadRequestCoalesced() {
+        coalescedReloadRequests.increment();
+    }
+
+    // Conteúdo idêntico ao snapshot atual: parse e broadcast evitados
+    public void unchangedFile() {
+        unchangedFiles.increment();
+    }
+
+    public void changedFile() {
+        changedFiles.increment();
+    }
+
+    public void reloadStage(String stage, long nanos) {
+        stageTimers.computeIfAbsent(stage, key -> Timer.builder("config.reload.stage")
+                        .description("Time spent in each stage of a configuration reload")
+                        .tag("stage", key)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Reload interrompido nesta etapa; o snapshot anterior continua publicado
+    public void reloadStageFailed(String stage) {
+        stageFailures.computeIfAbsent(stage, key -> Counter.builder("config.reload.stage.failures")
+                        .description("Reloads stopped by a failing stage, keeping the last good snapshot")
+                        .tag("stage", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    public void bindStreamSubscribers(Collection<?> subscribers) {
+        Gauge.builder("config.stream.subscribers", subscribers, Collection::size)
+                .description("Open SSE connections on /api/config/stream")
+                .register(meterRegistry);
+    }
+
+    public void streamSubscriberDropped() {
+        droppedStreamSubscribers.increment();
+    }
+
+    public void bindStompQueuedBytes(AtomicLong queuedBytes) {
+        Gauge.builder("config.stomp.queued.bytes", queuedBytes, AtomicLong::get)
+                .description("Bytes of config updates waiting on the client outbound channel")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public void stompMessageConflated() {
+        conflatedStompMessages.increment();
+    }
+
+    public void stompSessionDropped() {
+        droppedStompSessions.increment();
+    }
+
+    // Tamanho, acertos, falhas e despejos do cache de snapshots por tenant
+    public void bindTenantCache(Cache<?, ?> tenants) {
+        CaffeineCacheMetrics.monitor(meterRegistry, tenants, "config.tenants");
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Request latency per route template and status, with SLO histogram buckets and in-flight gauges.
+ * <p>
+ * Tags come only from route templates ({@code /api/config/feature/{feature}}) and status codes,
+ * so the number of meters is bounded. Meters for every mapped route and the common statuses are
+ * registered at startup and looked up from a cache afterwards, so recording a request allocates nothing.
+ */
+@Component
+public class PerformanceMetrics {
+
+    static final String UNMAPPED_ROUTE = "UNMAPPED";
+    static final String OTHER_ROUTE = "OTHER";
+
+    private static final int[] COMMON_STATUSES = {200, 202, 304, 400, 404, 410, 500, 503};
+    private static final int MAX_STATUS = 600;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration[] slos;
+    private final int maxRoutes;
+    private final ConcurrentHashMap<String, RouteMeters> routes = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public PerformanceMetrics(MeterRegistry meterRegistry,
+                              @Value("${app.metrics.latency.slo:5ms,10ms,25ms,50ms,100ms,250ms,500ms,1s}") Duration[] slos,
+                              @Value("${app.metrics.latency.max-routes:200}") int maxRoutes) {
+        this.meterRegistry = meterRegistry;
+        this.slos = slos;
+        this.maxRoutes = maxRoutes;
+
+        Gauge.builder("http.server.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently being handled")
+                .register(meterRegistry);
+    }
+
+    // Pré-registra as rotas mapeadas assim que o contexto sobe
+    @EventListener
+    public void registerRoutes(ContextRefreshedEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        for (RequestMappingInfoHandlerMapping mapping : context.getBeansOfType(RequestMappingInfoHandlerMapping.class).values()) {
+            for (RequestMappingInfo info : mapping.getHandlerMethods().keySet()) {
+                for (String pattern : info.getPatternValues()) {
+                    RouteMeters meters = route(pattern);
+                    for (int status : COMMON_STATUSES) {
+                        meters.timer(status);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Cached meters of a route template. Unmapped requests and routes beyond the configured
+     * limit share a single bucket each, so cardinality never grows with traffic.
+     */
+    public RouteMeters route(String pattern) {
+        if (pattern == null) {
+            pattern = UNMAPPED_ROUTE;
+        }
+
+        RouteMeters meters = routes.get(pattern);
+        if (meters != null) {
+            return meters;
+        }
+        if (routes.size() >= maxRoutes) {
+            pattern = OTHER_ROUTE;
+        }
+        return routes.computeIfAbsent(pattern, RouteMeters::new);
+    }
+
+    void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    void requestCompleted(String pattern, int status, long elapsedNanos) {
+        inFlight.decrementAndGet();
+        route(pattern).timer(status).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public final class RouteMeters {
+        private final String route;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(MAX_STATUS);
+
+        private RouteMeters(String route) {
+            this.route = route;
+            Gauge.builder("http.route.in.flight", inFlight, AtomicInteger::get)
+                    .description("Requests currently being handled, per route")
+                    .tag("uri", route)
+                    .register(meterRegistry);
+        }
+
+        void started() {
+            inFlight.incrementAndGet();
+        }
+
+        void completed() {
+            inFlight.decrementAndGet();
+        }
+
+        Timer timer(int status) {
+            int index = status > 0 && status < MAX_STATUS ? status : 0;
+            Timer timer = timers.get(index);
+            if (timer == null) {
+                // Registro é idempotente: corridas resultam no mesmo Timer
+                timer = Timer.builder("http.route.latency")
+                        .description("Request latency per route template and status")
+                        .tag("uri", route)
+                        .tag("status", String.valueOf(index))
+                        .serviceLevelObjectives(slos)
+                        .register(meterRegistry);
+                timers.set(index, timer);
+            }
+            return timer;
+        }
+    }
+}
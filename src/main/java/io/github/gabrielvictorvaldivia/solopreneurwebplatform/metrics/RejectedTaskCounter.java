@@ -0,0 +1,32 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Abort policy that counts rejections in {@code executor.rejected}, tagged with the executor name
+ * used by Micrometer's {@code executor.*} meters.
+ */
+public class RejectedTaskCounter implements RejectedExecutionHandler {
+
+    private final String name;
+    private final Counter rejected;
+
+    public RejectedTaskCounter(String name, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.rejected = Counter.builder("executor.rejected")
+                .description("Tasks rejected because the executor queue was full or shut down")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        rejected.increment();
+        throw new RejectedExecutionException("Task rejected by " + name + " (queue " + executor.getQueue().size() + ")");
+    }
+}
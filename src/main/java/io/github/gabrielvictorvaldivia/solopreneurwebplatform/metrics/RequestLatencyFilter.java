@@ -0,0 +1,90 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Times every request end to end and records it against its route template once the
+ * handler mapping has resolved it. Async requests (SSE, DeferredResult) are recorded when the
+ * async context completes, not when the initial dispatch returns.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestLatencyFilter extends OncePerRequestFilter {
+
+    private final PerformanceMetrics performanceMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        performanceMetrics.requestStarted();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // O primeiro dispatch só abriu a resposta; o tempo vai até o contexto assíncrono terminar
+                request.getAsyncContext().addListener(new CompletionListener(request, response, start));
+            } else {
+                completed(request, response, failed, start);
+            }
+        }
+    }
+
+    private void completed(HttpServletRequest request, HttpServletResponse response, boolean failed, long start) {
+        // Exceção não tratada: conta como 500 mesmo que o status ainda não tenha sido definido
+        int status = failed && response.getStatus() < 400 ? 500 : response.getStatus();
+        String route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        performanceMetrics.requestCompleted(route, status, System.nanoTime() - start);
+    }
+
+    // O container sempre chama onComplete, inclusive após erro ou timeout: é o único ponto de registro
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+        private volatile boolean failed;
+
+        private CompletionListener(HttpServletRequest request, HttpServletResponse response, long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            completed(request, response, failed, start);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Quem trata o timeout define o status (503 no Spring MVC); onComplete registra
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Novo ciclo assíncrono (startAsync de novo): o listener precisa ser registrado outra vez
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tracks in-flight requests per route. The route is only known once a handler was matched,
+ * which is why this runs as an interceptor rather than in {@link RequestLatencyFilter}.
+ * Async requests stay in flight until their async dispatch completes, so open SSE streams are counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteInFlightInterceptor implements HandlerInterceptor {
+
+    private static final String ROUTE_METERS = RouteInFlightInterceptor.class.getName() + ".ROUTE";
+
+    private final PerformanceMetrics performanceMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Dispatch assíncrono (SSE, DeferredResult): a requisição já foi contada
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        PerformanceMetrics.RouteMeters meters = performanceMetrics.route(
+                (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        meters.started();
+        request.setAttribute(ROUTE_METERS, meters);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ROUTE_METERS) instanceof PerformanceMetrics.RouteMeters meters) {
+            meters.completed();
+        }
+    }
+}
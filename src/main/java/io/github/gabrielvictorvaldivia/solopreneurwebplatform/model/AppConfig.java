@@ -1,15 +1,23 @@
 package io.github.gabrielvictorvaldivia.solopreneurwebplatform.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 
+/**
+ * Contents of {@code app-config.json}. Read-only outside this package: the setters exist for Jackson,
+ * and a published snapshot shares the bound instance with every reader.
+ */
 @Data
+@Setter(AccessLevel.PACKAGE)
 public class AppConfig {
     private System system;
     private Features features;
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class System {
         private String projectName;
         private String projectDescription;
@@ -19,12 +27,14 @@ public class AppConfig {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Features {
         private Notifications notifications;
         private Dashboard dashboard;
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Notifications {
         private boolean email;
         private boolean push;
@@ -32,6 +42,7 @@ public class AppConfig {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Dashboard {
         private String defaultView;
         private boolean showMetrics;
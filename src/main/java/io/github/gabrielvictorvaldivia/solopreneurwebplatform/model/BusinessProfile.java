@@ -1,13 +1,20 @@
 package io.github.gabrielvictorvaldivia.solopreneurwebplatform.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 
+/**
+ * Contents of {@code business-config.json}; read-only like the other config models.
+ */
 @Data
+@Setter(AccessLevel.PACKAGE)
 public class BusinessProfile {
     private Owner owner;
     private Contacts contacts;
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Owner {
         private String name;
         private String displayName;
@@ -16,6 +23,7 @@ public class BusinessProfile {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Contacts {
         private Primary primary;
         private Social social;
@@ -23,12 +31,14 @@ public class BusinessProfile {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Primary {
         private String email;
         private String phone;
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Social {
         private String linkedin;
         private String website;
@@ -36,12 +46,14 @@ public class BusinessProfile {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Business {
         private String companyName;
         private Address address;
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Address {
         private String street;
         private String city;
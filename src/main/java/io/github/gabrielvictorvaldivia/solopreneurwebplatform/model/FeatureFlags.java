@@ -1,13 +1,31 @@
 package io.github.gabrielvictorvaldivia.solopreneurwebplatform.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contents of {@code feature-flags.json}; read-only like the other config models. The rule map and its
+ * value lists are unmodifiable but keep null entries, which the validator reports.
+ */
 @Data
+@Setter(AccessLevel.PACKAGE)
 public class FeatureFlags {
     private Features features;
     private Permissions permissions;
+    private Map<String, Rule> rules;
+
+    void setRules(Map<String, Rule> rules) {
+        this.rules = rules == null ? null : Collections.unmodifiableMap(rules);
+    }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Features {
         private Beta beta;
         private Experimental experimental;
@@ -15,6 +33,7 @@ public class FeatureFlags {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Beta {
         private boolean newDashboard;
         private boolean advancedReports;
@@ -22,6 +41,7 @@ public class FeatureFlags {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Experimental {
         private boolean darkModeV2;
         private boolean realTimeSync;
@@ -29,6 +49,7 @@ public class FeatureFlags {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Modules {
         private boolean invoicing;
         private boolean timeTracking;
@@ -38,9 +59,39 @@ public class FeatureFlags {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Permissions {
         private boolean canExportData;
         private boolean canModifySettings;
         private boolean canAccessBetaFeatures;
     }
+
+    // Regras de rollout por flag (ex.: "beta.newDashboard")
+    @Data
+    @Setter(AccessLevel.PACKAGE)
+    public static class Rule {
+        private Double percentage;
+        private List<String> allow;
+        private List<String> deny;
+        private Map<String, List<String>> attributes;
+
+        void setAllow(List<String> allow) {
+            this.allow = allow == null ? null : Collections.unmodifiableList(allow);
+        }
+
+        void setDeny(List<String> deny) {
+            this.deny = deny == null ? null : Collections.unmodifiableList(deny);
+        }
+
+        void setAttributes(Map<String, List<String>> attributes) {
+            if (attributes == null) {
+                this.attributes = null;
+                return;
+            }
+            // Nulos continuam visíveis para o ConfigValidator
+            Map<String, List<String>> values = new LinkedHashMap<>();
+            attributes.forEach((name, list) -> values.put(name, list == null ? null : Collections.unmodifiableList(list)));
+            this.attributes = Collections.unmodifiableMap(values);
+        }
+    }
 }
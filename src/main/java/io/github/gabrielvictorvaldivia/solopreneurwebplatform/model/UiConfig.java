@@ -1,11 +1,18 @@
 package io.github.gabrielvictorvaldivia.solopreneurwebplatform.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Contents of {@code ui-config.json}; read-only like the other config models, including the theme list.
+ */
 @Data
+@Setter(AccessLevel.PACKAGE)
 public class UiConfig {
     private Preferences preferences;
     private Branding branding;
@@ -13,6 +20,7 @@ public class UiConfig {
     private Themes themes;
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Preferences {
         private String theme;
         private String language;
@@ -22,6 +30,7 @@ public class UiConfig {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Branding {
         private String primaryColor;
         private String secondaryColor;
@@ -30,6 +39,7 @@ public class UiConfig {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Layout {
         private boolean sidebarCollapsed;
         private boolean headerFixed;
@@ -38,10 +48,15 @@ public class UiConfig {
     }
 
     @Data
+    @Setter(AccessLevel.PACKAGE)
     public static class Themes {
         private List<String> available;
         @JsonProperty("default")
         private String defaultTheme;
         private String customCss;
+
+        void setAvailable(List<String> available) {
+            this.available = available == null ? null : Collections.unmodifiableList(available);
+        }
     }
 }
@@ -1,401 +1,421 @@
 package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
 
-
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
 import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.AppConfig;
 import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.BusinessProfile;
 import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
 import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncContext;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.event.EventListener;
-import org.springframework.core.io.Resource;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.file.*;
-import java.time.Instant;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Entry point to the configuration: startup, the reload pipeline every change goes through,
+ * rollbacks and the read API over the published snapshot. The work itself is delegated to
+ * {@link ConfigLoader} (reading and publishing), {@link ConfigWatcher} (file events),
+ * {@link ConfigClusterSync} (cluster generations) and {@link ConfigNotifier} (events and clients).
+ */
 @SuppressWarnings("SpellCheckingInspection")
 @Slf4j
 @Service
-@Getter
+@Lazy(false) // configurações prontas antes de o servidor aceitar a primeira requisição
+@ImportRuntimeHints(ConfigRuntimeHints.class)
 @RequiredArgsConstructor
 public class AppConfigurationService {
 
     private final ObjectMapper objectMapper;
-    private final ApplicationEventPublisher eventPublisher;
-    private final SimpMessagingTemplate messagingTemplate;
-
-    @Value("classpath:config/app-config.json")
-    private Resource appConfigResource;
-
-    @Value("classpath:config/business-config.json")
-    private Resource businessProfileResource;
-
-    @Value("classpath:config/ui-config.json")
-    private Resource uiConfigResource;
+    // Geração publicada e as etapas que produzem a próxima
+    private final ConfigLoader loader;
+    private final ConfigMetrics configMetrics;
+    private final ConfigHistory history;
+    // Eventos internos, STOMP, SSE e log de deltas de cada geração publicada
+    private final ConfigNotifier notifier;
+    // Última geração publicada, restaurada na inicialização
+    private final ConfigSnapshotStore snapshotStore;
+    // Modo cluster opcional: geração acordada entre os nós por um diretório compartilhado
+    private final ConfigClusterSync clusterSync;
+    // Observador do diretório de configuração, com debounce
+    private final ConfigWatcher watcher;
+    // Reloads; o configScheduler fica só com timers e o loop do watcher
+    @Qualifier("configTaskExecutor")
+    private final Executor configTaskExecutor;
+
+    // Espera máxima de quem aguarda um reload de forma síncrona
+    @Value("${app.config.reload.timeout:30s}")
+    private Duration reloadTimeout;
+
+    // Todo reload, do watcher ou manual, passa por aqui: um em execução e no máximo um na fila
+    private final ConfigReloadPipeline reloads = new ConfigReloadPipeline(
+            this::runReload, this::reloadNow, this::rollbackNow, this::reloadCoalesced);
+
+    // true quando a geração inicial veio do snapshot persistido e ainda precisa ser revalidada
+    private boolean restored;
+
+    /**
+     * Publishes the first generation while the context starts, before the web server accepts
+     * requests: the current cluster generation in cluster mode, otherwise the persisted snapshot
+     * when there is a valid one, then the defaults pre-parsed at build time in AOT builds, and the
+     * config files as a fallback.
+     */
+    @PostConstruct
+    public void loadInitialConfigurations() {
+        if (clusterSync.isEnabled() ? clusterSync.restore() : restoreSnapshot()) {
+            return;
+        }
 
-    @Value("classpath:config/feature-flags.json")
-    private Resource featureFlagsResource;
+        try {
+            // Carregar configurações iniciais
+            loadAllConfigurations();
+        } catch (Exception e) {
+            log.error("❌ Erro ao inicializar ConfigurationService: {}", e.getMessage(), e);
+            throw new RuntimeException("Falha ao inicializar configurações", e);
+        }
+    }
 
-    // Configurações em memória
-    private AppConfig appConfig;
-    private BusinessProfile businessProfile;
-    private UiConfig uiConfig;
-    private FeatureFlags featureFlags;
+    private boolean restoreSnapshot() {
+        try {
+            ConfigurationSnapshot persisted = snapshotStore.load();
+            if (persisted != null) {
+                loader.publishRestored(persisted);
+                restored = true;
+                log.info("⚡ Snapshot v{} restaurado; revalidação com os arquivos em segundo plano",
+                        persisted.getVersion());
+                return true;
+            }
 
-    // Observador de configurações
-    private WatchService watchService;
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);;
-    private final ConcurrentHashMap<String, Long> lastModified = new ConcurrentHashMap<>();
+            // Build AOT sem arquivos externos: padrões do classpath já parseados e validados na compilação
+            ConfigurationSnapshot bundled = loader.hasExternalFiles() ? null : snapshotStore.loadBundled();
+            if (bundled != null) {
+                loader.publishRestored(bundled);
+                restored = true;
+                log.info("⚡ Padrões pré-processados no build publicados como v{}", bundled.getVersion());
+                return true;
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Snapshot persistido descartado: {}", e.getMessage());
+        }
+        return false;
+    }
 
     @EventListener(ApplicationReadyEvent.class)
     public void initialize() {
-        try {
-            // Configurar ObjectMapper
-            objectMapper.registerModule(new JavaTimeModule());
-
-            // Carregar configurações iniciais
-            loadAllConfigurations();
+        // Arquivos alterados enquanto a aplicação estava parada viram uma nova versão; iguais nem são lidos pelo Jackson
+        if (restored) {
+            reloadConfigurations(EnumSet.allOf(ConfigSection.class));
+        }
 
-            // Iniciar monitoramento de arquivos
-            startFileWatcher();
+        if (clusterSync.isEnabled()) {
+            if (clusterSync.isBootstrap()) {
+                reloads.submit(EnumSet.allOf(ConfigSection.class), true);
+            }
+            clusterSync.start(() -> reloads.submit(EnumSet.noneOf(ConfigSection.class), false));
+        }
 
-            log.info("✅ Configurações carregadas e monitoramento iniciado!");
+        // Iniciar monitoramento de arquivos
+        watcher.start(this::reloadConfigurations);
 
-        } catch (Exception e) {
-            log.error("❌ Erro ao inicializar ConfigurationService: {}", e.getMessage(), e);
-            throw new RuntimeException("Falha ao inicializar configurações", e);
-        }
+        log.info("✅ Configurações carregadas e monitoramento iniciado!");
     }
 
+    // Primeira geração, publicada antes de existirem clientes: nada a anunciar
     private void loadAllConfigurations() throws IOException {
         log.info("🔄 Carregando todas as configurações...");
 
-        this.appConfig = loadConfig(appConfigResource, AppConfig.class);
-        this.businessProfile = loadConfig(businessProfileResource, BusinessProfile.class);
-        this.uiConfig = loadConfig(uiConfigResource, UiConfig.class);
-        this.featureFlags = loadConfig(featureFlagsResource, FeatureFlags.class);
-
-        // Atualizar timestamps
-        updateLastModified();
+        Map<ConfigSection, ByteBuffer> contents = new EnumMap<>(ConfigSection.class);
+        Map<ConfigSection, Long> hashes = new EnumMap<>(ConfigSection.class);
+        Map<ConfigSection, Object> loaded = loader.prepare(EnumSet.allOf(ConfigSection.class), null,
+                loader::readContent, contents, hashes);
+        loader.commit(loaded, hashes, 0, false);
 
         log.info("✅ Configurações carregadas com sucesso!");
     }
 
-    private <T> T loadConfig(Resource resource, Class<T> configClass) throws IOException {
-        if (!resource.exists()) {
-            throw new IOException("Arquivo de configuração não encontrado: " + resource.getFilename());
+    /**
+     * Queues a reload of one file, or joins the reload already waiting.
+     *
+     * @return the reload, or {@code null} if the file is not a configuration file
+     */
+    public ConfigReload reloadConfiguration(String fileName) {
+        ConfigSection section = ConfigSection.fromFileName(fileName);
+        if (section == null) {
+            log.warn("⚠️ Arquivo desconhecido: {}", fileName);
+            return null;
         }
 
-        return objectMapper.readValue(resource.getInputStream(), configClass);
+        return reloadConfigurations(EnumSet.of(section));
     }
 
-    @Async
-    public void startFileWatcher() {
-        try {
-            watchService = FileSystems.getDefault().newWatchService();
+    /**
+     * Queues a batch of changed files to be reloaded into a single new snapshot, then notified
+     * once per file. Files whose content hash is unchanged are skipped.
+     */
+    public ConfigReload reloadConfigurations(Set<ConfigSection> sections) {
+        return reloads.submit(sections, false);
+    }
 
-            // Registrar diretório config para monitoramento
-            Path configDir = Paths.get("src/main/resources/config");
-            if (!Files.exists(configDir)) {
-                configDir = Paths.get("config"); // Fallback para produção
-            }
+    /**
+     * Queues a forced reload of every file, or joins a forced reload already running or waiting.
+     */
+    public ConfigReload requestReload() {
+        return reloads.submit(EnumSet.allOf(ConfigSection.class), true);
+    }
 
-            if (Files.exists(configDir)) {
-                configDir.register(watchService,
-                        StandardWatchEventKinds.ENTRY_MODIFY,
-                        StandardWatchEventKinds.ENTRY_CREATE);
+    /**
+     * A recent reload by ID, or {@code null} if it is no longer retained.
+     */
+    public ConfigReload getReload(long id) {
+        return reloads.get(id);
+    }
 
-                log.info("👁️ Monitorando alterações em: {}", configDir.toAbsolutePath());
+    private void runReload(Runnable task) {
+        configTaskExecutor.execute(task);
+    }
 
-                // Executar em thread separada
-                scheduler.execute(this::watchForChanges);
-            } else {
-                log.warn("⚠️ Diretório de configurações não encontrado para monitoramento");
-                // Fallback: verificação periódica
-                scheduler.scheduleAtFixedRate(this::checkForChangesPolling, 5, 5, TimeUnit.SECONDS);
-            }
+    private void reloadCoalesced() {
+        configMetrics.reloadRequestCoalesced();
+    }
 
-        } catch (IOException e) {
-            log.error("❌ Erro ao iniciar file watcher: {}", e.getMessage(), e);
-            // Fallback: verificação periódica
-            scheduler.scheduleAtFixedRate(this::checkForChangesPolling, 5, 5, TimeUnit.SECONDS);
+    // Executado apenas pelo pipeline, um reload por vez. Uma etapa que falha interrompe o reload
+    // e o último snapshot bom continua publicado
+    private ConfigReloadPipeline.Outcome reloadNow(Set<ConfigSection> sections, boolean force) throws IOException {
+        if (clusterSync.isEnabled()) {
+            return clusterSync.reload(sections, force);
         }
-    }
 
-    private void watchForChanges() {
-        try {
-            while (true) {
-                WatchKey key = watchService.take(); // Bloqueia até haver mudança
-
-                for (WatchEvent<?> event : key.pollEvents()) {
-                    WatchEvent.Kind<?> kind = event.kind();
-
-                    if (kind == StandardWatchEventKinds.OVERFLOW) {
-                        continue;
-                    }
-
-                    @SuppressWarnings("unchecked")
-                    WatchEvent<Path> ev = (WatchEvent<Path>) event;
-                    Path filename = ev.context();
-
-                    String fileName = filename.toString();
-                    log.info("🔔 Arquivo modificado: {}", fileName);
-
-                    // Processar apenas arquivos JSON de configuração
-                    if (isConfigFile(fileName)) {
-                        // Aguardar um pouco para garantir que o arquivo foi completamente escrito
-                        Thread.sleep(500);
-                        reloadConfiguration(fileName);
-                    }
-                }
-
-                boolean valid = key.reset();
-                if (!valid) {
-                    log.warn("⚠️ WatchKey não é mais válido, reiniciando monitoramento...");
-                    break;
-                }
-            }
-        } catch (InterruptedException e) {
-            log.info("📴 File watcher interrompido");
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            log.error("❌ Erro no file watcher: {}", e.getMessage(), e);
+        Map<ConfigSection, ByteBuffer> contents = new EnumMap<>(ConfigSection.class);
+        Map<ConfigSection, Long> hashes = new EnumMap<>(ConfigSection.class);
+        Map<ConfigSection, Object> loaded = loader.prepare(sections, baseline(force, loader.current()),
+                loader::readContent, contents, hashes);
+        if (loaded.isEmpty()) {
+            log.debug("Conteúdo inalterado, recarga ignorada: {}", sections);
+            return new ConfigReloadPipeline.Outcome(Set.of(), loader.current().getVersion());
         }
-    }
 
-    private void checkForChangesPolling() {
-        try {
-            boolean hasChanges = false;
+        log.info("🔄 Recarregando configurações: {}", loaded.keySet());
+        ConfigurationSnapshot published = loader.commit(loaded, hashes, 0, true);
 
-            // Verificar cada arquivo
-            if (hasFileChanged(appConfigResource, "app-config.json")) {
-                reloadConfiguration("app-config.json");
-                hasChanges = true;
-            }
+        log.info("✅ Configurações {} recarregadas com sucesso!", loaded.keySet());
+        return new ConfigReloadPipeline.Outcome(loaded.keySet(), published.getVersion());
+    }
 
-            if (hasFileChanged(businessProfileResource, "business-config.json")) {
-                reloadConfiguration("business-config.json");
-                hasChanges = true;
-            }
+    // Sem force, arquivos com o mesmo hash do snapshot atual nem chegam ao Jackson
+    private static long[] baseline(boolean force, ConfigurationSnapshot current) {
+        if (force || !current.isComplete()) {
+            return null;
+        }
+        long[] hashes = new long[ConfigSection.values().length];
+        for (ConfigSection section : ConfigSection.values()) {
+            hashes[section.ordinal()] = current.getContentHash(section);
+        }
+        return hashes;
+    }
 
-            if (hasFileChanged(uiConfigResource, "ui-config.json")) {
-                reloadConfiguration("ui-config.json");
-                hasChanges = true;
-            }
+    /**
+     * Queues a rollback to a retained generation on the reload pipeline, so it never interleaves
+     * with a file reload. It publishes the target again as a new version, reusing its parsed
+     * objects: no file is read or parsed. The content hashes of the files on disk are kept, so the
+     * rollback holds until those files change again. In cluster mode it is published as a new
+     * cluster generation pointing at the target's contents. Nothing is published when the target
+     * matches the current configuration.
+     *
+     * @return the queued rollback, or {@code null} if the version is not retained
+     */
+    public ConfigReload rollbackTo(long version) {
+        if (history.get(version) == null) {
+            return null;
+        }
+        return reloads.submitRollback(version);
+    }
 
-            if (hasFileChanged(featureFlagsResource, "feature-flags.json")) {
-                reloadConfiguration("feature-flags.json");
-                hasChanges = true;
-            }
+    // Executado pelo pipeline, na vez do rollback
+    private ConfigReloadPipeline.Outcome rollbackNow(long version) throws IOException {
+        ConfigurationSnapshot target = history.get(version);
+        if (target == null) {
+            throw new ConfigReloadException(ConfigReload.Stage.READ,
+                    "Versão " + version + " não está mais retida", List.of());
+        }
 
-            if (hasChanges) {
-                log.debug("✅ Verificação periódica concluída - alterações detectadas");
+        ConfigurationSnapshot previous = loader.current();
+        Map<ConfigSection, Object> restored = new EnumMap<>(ConfigSection.class);
+        Map<ConfigSection, Long> hashes = new EnumMap<>(ConfigSection.class);
+        for (ConfigSection section : ConfigSection.values()) {
+            if (previous.get(section) != target.get(section)) {
+                restored.put(section, target.get(section));
             }
-
-        } catch (Exception e) {
-            log.error("❌ Erro na verificação periódica: {}", e.getMessage(), e);
         }
-    }
+        if (restored.isEmpty()) {
+            log.info("⏪ Rollback para v{} ignorado: v{} já tem o mesmo conteúdo", version, previous.getVersion());
+            return new ConfigReloadPipeline.Outcome(Set.of(), previous.getVersion());
+        }
 
-    private boolean hasFileChanged(Resource resource, String fileName) {
-        try {
-            long currentModified = resource.getFile().lastModified();
-            Long previousModified = lastModified.get(fileName);
+        // Em cluster, o rollback é uma nova geração com o conteúdo da versão alvo
+        long generation = clusterSync.isEnabled()
+                ? clusterSync.publishRollback(previous, target, restored.keySet(), hashes) : 0;
+        ConfigurationSnapshot published = loader.commit(restored, hashes, generation, true);
 
-            if (previousModified == null || currentModified > previousModified) {
-                lastModified.put(fileName, currentModified);
-                return previousModified != null; // Não considerar mudança na primeira verificação
-            }
+        log.info("⏪ Rollback para v{} publicado como v{}: {}", version, published.getVersion(), restored.keySet());
+        return new ConfigReloadPipeline.Outcome(restored.keySet(), published.getVersion());
+    }
 
-        } catch (IOException e) {
-            log.debug("Erro ao verificar modificação do arquivo {}: {}", fileName, e.getMessage());
+    /**
+     * JSON Patch from one retained version to another, over the {@code /api/config/current} document,
+     * or {@code null} if either version is no longer retained.
+     */
+    public JsonNode diffVersions(long fromVersion, long toVersion) {
+        ConfigurationSnapshot from = history.get(fromVersion);
+        ConfigurationSnapshot to = history.get(toVersion);
+        if (from == null || to == null) {
+            return null;
         }
 
-        return false;
+        return JsonPatch.diff(objectMapper.valueToTree(from.toDocument()), objectMapper.valueToTree(to.toDocument()), "");
     }
 
-    private void updateLastModified() {
-        try {
-            lastModified.put("app-config.json", appConfigResource.getFile().lastModified());
-            lastModified.put("business-config.json", businessProfileResource.getFile().lastModified());
-            lastModified.put("ui-config.json", uiConfigResource.getFile().lastModified());
-            lastModified.put("feature-flags.json", featureFlagsResource.getFile().lastModified());
-        } catch (IOException e) {
-            log.debug("Erro ao atualizar timestamps: {}", e.getMessage());
-        }
+    /**
+     * Serialized chain of patch messages from {@code sinceVersion} to the current version, as a
+     * JSON array, or {@code null} if the chain is no longer available and a full snapshot is needed.
+     */
+    public byte[] getPatchesSince(long sinceVersion) {
+        return notifier.patchesSince(sinceVersion, loader.current().getVersion());
     }
 
-    private boolean isConfigFile(String fileName) {
-        return fileName.equals("app-config.json") ||
-                fileName.equals("business-config.json") ||
-                fileName.equals("ui-config.json") ||
-                fileName.equals("feature-flags.json");
+    /**
+     * Attaches a started async request to the SSE stream of configuration changes. A client
+     * resuming from {@code lastEventId} receives the missed patches, or a full snapshot event when
+     * the chain is no longer available; a new client starts with a snapshot event.
+     */
+    public void openStream(Long lastEventId, AsyncContext context) throws IOException {
+        notifier.openStream(lastEventId, context, loader::current);
     }
 
-    @Async
-    public void reloadConfiguration(String fileName) {
-        try {
-            log.info("🔄 Recarregando configuração: {}", fileName);
-
-            Object oldConfig = null;
-            Object newConfig = null;
-            String configType = null;
-
-            switch (fileName) {
-                case "app-config.json":
-                    oldConfig = this.appConfig;
-                    this.appConfig = loadConfig(appConfigResource, AppConfig.class);
-                    newConfig = this.appConfig;
-                    configType = "app";
-                    break;
-
-                case "business-config.json":
-                    oldConfig = this.businessProfile;
-                    this.businessProfile = loadConfig(businessProfileResource, BusinessProfile.class);
-                    newConfig = this.businessProfile;
-                    configType = "business";
-                    break;
-
-                case "ui-config.json":
-                    oldConfig = this.uiConfig;
-                    this.uiConfig = loadConfig(uiConfigResource, UiConfig.class);
-                    newConfig = this.uiConfig;
-                    configType = "ui";
-                    break;
-
-                case "feature-flags.json":
-                    oldConfig = this.featureFlags;
-                    this.featureFlags = loadConfig(featureFlagsResource, FeatureFlags.class);
-                    newConfig = this.featureFlags;
-                    configType = "features";
-                    break;
-
-                default:
-                    log.warn("⚠️ Arquivo desconhecido: {}", fileName);
-                    return;
-            }
+    public boolean isConfigurationLoaded() {
+        return loader.current().isComplete();
+    }
 
-            // Publicar evento interno para outros serviços
-            eventPublisher.publishEvent(new ConfigurationChangedEvent(configType, oldConfig, newConfig));
+    public ConfigurationSnapshot getSnapshot() {
+        return loader.current();
+    }
 
-            // Notificar clientes via WebSocket
-            notifyClients(configType, newConfig);
+    /**
+     * Pre-serialized {@code /api/config/current} body of the current snapshot,
+     * or {@code null} while nothing has been loaded yet.
+     */
+    public SerializedConfig getCurrentJson() {
+        return loader.current().getCurrentJson();
+    }
 
-            log.info("✅ Configuração {} recarregada com sucesso!", fileName);
+    /**
+     * Bulk flag responses of the current snapshot.
+     */
+    public FeatureFlagVectors getFlagVectors() {
+        return loader.current().getFlagVectors();
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Erro ao recarregar {}: {}", fileName, e.getMessage(), e);
-        }
+    public List<ConfigHistory.VersionSummary> getHistory() {
+        return history.list();
     }
 
-    private void notifyClients(String configType, Object newConfig) {
-        try {
-            // Enviar para todos os clientes conectados
-            messagingTemplate.convertAndSend("/topic/config-updates",
-                    new ConfigUpdateMessage(configType, newConfig, Instant.now().toEpochMilli()));
+    /**
+     * Retained snapshot with the given version, or {@code null} if it is no longer in the history.
+     */
+    public ConfigurationSnapshot getVersion(long version) {
+        return history.get(version);
+    }
 
-            log.info("📢 Clientes notificados sobre mudança em: {}", configType);
+    public AppConfig getAppConfig() {
+        return loader.current().getAppConfig();
+    }
 
-        } catch (Exception e) {
-            log.error("❌ Erro ao notificar clientes: {}", e.getMessage(), e);
-        }
+    public BusinessProfile getBusinessProfile() {
+        return loader.current().getBusinessProfile();
     }
 
-    public boolean isConfigurationLoaded() {
-        return appConfig != null && businessProfile != null &&
-                uiConfig != null && featureFlags != null;
+    public UiConfig getUiConfig() {
+        return loader.current().getUiConfig();
+    }
+
+    public FeatureFlags getFeatureFlags() {
+        return loader.current().getFeatureFlags();
     }
 
     // ===== MÉTODOS UTILITÁRIOS (mesmos de antes) =====
 
-    public boolean isFeatureEnabled(String module) {
-        FeatureFlags flags = this.featureFlags; // Snapshot local
-        if (flags == null) return false;
-
-        switch (module.toLowerCase()) {
-            case "invoicing":
-                return flags.getFeatures().getModules().isInvoicing();
-            case "timetracking":
-                return flags.getFeatures().getModules().isTimeTracking();
-            case "clientmanagement":
-                return flags.getFeatures().getModules().isClientManagement();
-            case "analytics":
-                return flags.getFeatures().getModules().isAnalytics();
-            case "integrations":
-                return flags.getFeatures().getModules().isIntegrations();
-            default:
-                return false;
-        }
+    /**
+     * Resolves any flag path ({@code modules.invoicing}, {@code beta.aiAssistant},
+     * {@code permissions.canExportData}) or bare module name, ignoring case.
+     * Unknown flags are disabled.
+     */
+    public boolean isFeatureEnabled(String feature) {
+        return loader.current().getFlagIndex().isEnabled(feature);
+    }
+
+    /**
+     * Evaluates a flag for one subject (user ID), applying its rollout and targeting rules.
+     * Attributes are matched against the rule's attribute lists; without a subject the
+     * global value applies. Same evaluation as {@code GET /api/config/feature/{feature}}.
+     */
+    public boolean isFeatureEnabled(String feature, String subject, Map<String, String> attributes) {
+        return loader.current().getFlagRules().isEnabled(feature, subject, attributes);
     }
 
     public String getCompanyDisplayName() {
-        BusinessProfile profile = this.businessProfile; // Snapshot local
+        BusinessProfile profile = loader.current().getBusinessProfile();
         return profile != null && profile.getContacts() != null
                 ? profile.getContacts().getBusiness().getCompanyName()
                 : "Empresa";
     }
 
     public String getPrimaryColor() {
-        UiConfig ui = this.uiConfig; // Snapshot local
+        UiConfig ui = loader.current().getUiConfig();
         return ui != null && ui.getBranding() != null
                 ? ui.getBranding().getPrimaryColor()
                 : "#007bff";
     }
 
-    // Método para forçar recarga manual (útil para admin)
+    // Recarga manual síncrona (útil para admin); junta-se a uma recarga forçada já em andamento
     public void forceReload() {
-        try {
-            loadAllConfigurations();
-            notifyClients("all", getAllConfigurations());
-            log.info("✅ Recarga manual executada com sucesso!");
-        } catch (Exception e) {
-            log.error("❌ Erro na recarga manual: {}", e.getMessage(), e);
-            throw new RuntimeException("Erro na recarga manual", e);
+        ConfigReload reload = requestReload().await(reloadTimeout);
+        if (!reload.isDone()) {
+            throw new IllegalStateException("Recarga manual " + reload.getId() + " ainda em andamento após " + reloadTimeout);
         }
-    }
-
-    private ConfigurationSnapshot getAllConfigurations() {
-        return new ConfigurationSnapshot(appConfig, businessProfile, uiConfig, featureFlags);
+        if (reload.getStatus() == ConfigReload.Status.FAILED) {
+            throw new RuntimeException("Erro na recarga manual: " + reload.getError());
+        }
+        log.info("✅ Recarga manual executada com sucesso!");
     }
 
     // Cleanup no shutdown
     public void destroy() {
         try {
-            if (watchService != null) {
-                watchService.close();
-            }
-            scheduler.shutdown();
+            watcher.close();
             log.info("📴 ConfigurationService finalizado");
         } catch (IOException e) {
             log.error("Erro ao finalizar ConfigurationService: {}", e.getMessage());
         }
     }
 
-    // Snapshot of all configurations
-    @Getter
-    @AllArgsConstructor
-    static class ConfigurationSnapshot {
-        private final AppConfig appConfig;
-        private final BusinessProfile businessProfile;
-        private final UiConfig uiConfig;
-        private final FeatureFlags featureFlags;
-    }
-
     // Event to notify other services about changes
     @Getter
     @AllArgsConstructor
@@ -405,12 +425,22 @@ public class AppConfigurationService {
         private final Object newConfig;
     }
 
-    // Message to WebSocket
+    // Uma vez por geração publicada, depois dos eventos por seção
+    @Getter
+    @AllArgsConstructor
+    static class ConfigurationPublishedEvent {
+        private final ConfigurationSnapshot previous;
+        private final ConfigurationSnapshot current;
+    }
+
+    // Message to WebSocket: JSON Patch taking clients from baseVersion to version
     @Getter
     @AllArgsConstructor
     static class ConfigUpdateMessage {
         private final String type;
-        private final Object config;
+        private final long baseVersion;
+        private final long version;
+        private final JsonNode patch;
         private final long timestamp;
     }
 }
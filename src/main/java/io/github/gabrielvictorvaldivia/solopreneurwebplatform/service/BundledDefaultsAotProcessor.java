@@ -0,0 +1,75 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parses and validates the bundled config files during AOT processing ({@code -Pnative}) and
+ * embeds the result as {@code config/defaults.snapshot}, in the {@link ConfigSnapshotStore}
+ * format. A native image started without external config files publishes it instead of
+ * parsing JSON, and invalid bundled defaults fail the build rather than the first start.
+ */
+@Slf4j
+class BundledDefaultsAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        ClassLoader classLoader = beanFactory.getBeanClassLoader();
+        ByteBuffer content = encode(classLoader);
+        byte[] bytes = new byte[content.remaining()];
+        content.get(bytes);
+        log.info("📦 Padrões do classpath pré-processados em {} ({} bytes)",
+                ConfigSnapshotStore.BUNDLED_DEFAULTS, bytes.length);
+
+        return (generationContext, code) -> {
+            generationContext.getGeneratedFiles().addResourceFile(ConfigSnapshotStore.BUNDLED_DEFAULTS,
+                    new ByteArrayResource(bytes));
+            generationContext.getRuntimeHints().resources().registerPattern(ConfigSnapshotStore.BUNDLED_DEFAULTS);
+        };
+    }
+
+    static ByteBuffer encode(ClassLoader classLoader) {
+        // Mesmas opções de leitura que o ObjectMapper do Boot usa em execução
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        Map<ConfigSection, Object> sections = new EnumMap<>(ConfigSection.class);
+        long[] hashes = new long[ConfigSection.values().length];
+        try {
+            for (ConfigSection section : ConfigSection.values()) {
+                ClassPathResource resource = new ClassPathResource("config/" + section.getFileName(), classLoader);
+                byte[] bytes;
+                try (InputStream in = resource.getInputStream()) {
+                    bytes = in.readAllBytes();
+                }
+                // Mesmo hash da leitura em execução: a revalidação na inicialização nem chega ao Jackson
+                hashes[section.ordinal()] = XxHash64.hash(ByteBuffer.wrap(bytes));
+                Object config = objectMapper.readValue(bytes, section.getType());
+                ConfigValidator.validate(section, config);
+                sections.put(section, config);
+            }
+
+            ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(1, Instant.now(), sections, hashes);
+            // Mesmo build-info que vai no artefato: o snapshot embutido só vale para este build
+            return new ConfigSnapshotStore(new ConfigCodecs(objectMapper),
+                    ConfigSnapshotStore.buildFingerprint(classLoader), false, null).encode(snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Padrões do classpath inválidos: " + e.getMessage(), e);
+        }
+    }
+}
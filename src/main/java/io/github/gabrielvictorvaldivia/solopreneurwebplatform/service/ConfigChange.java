@@ -0,0 +1,42 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Values that changed between two versions, limited to the paths one listener subscribed to.
+ * A path removed in the new version reads as {@code null}.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public final class ConfigChange {
+
+    private final long previousVersion;
+    private final long version;
+    private final Set<String> paths;
+    private final ConfigValues previousValues;
+    private final ConfigValues values;
+
+    public boolean contains(String path) {
+        return paths.contains(path);
+    }
+
+    public Object previous(String path) {
+        return previousValues.get(path);
+    }
+
+    public Object current(String path) {
+        return values.get(path);
+    }
+
+    public <T> T previous(ConfigKey<T> key) {
+        return key.cast(previousValues.get(key.getPath()));
+    }
+
+    public <T> T current(ConfigKey<T> key) {
+        return key.cast(values.get(key.getPath()));
+    }
+}
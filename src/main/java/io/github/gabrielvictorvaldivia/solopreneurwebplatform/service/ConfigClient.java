@@ -0,0 +1,201 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Typed, in-process access to the current configuration for other beans.
+ * <p>
+ * Reads go to the {@link ConfigValues} flattened when the snapshot was compiled: a hash lookup
+ * with no parsing and no allocation. Listeners subscribe to a path ({@code ui.branding.primaryColor})
+ * or a subtree ({@code ui.branding.*}) and are called once per new version, only when a value
+ * under it changed, on the dedicated {@code configListenerExecutor}. A slow listener delays later
+ * notifications, never a reload; versions published meanwhile are delivered as a single change.
+ */
+@Slf4j
+@Service
+public class ConfigClient {
+
+    public static final ConfigKey<String> PROJECT_NAME = ConfigKey.string("app.system.projectName");
+    public static final ConfigKey<Integer> DASHBOARD_AUTO_REFRESH = ConfigKey.integer("app.features.dashboard.autoRefresh");
+    public static final ConfigKey<String> COMPANY_NAME = ConfigKey.string("business.contacts.business.companyName");
+    public static final ConfigKey<String> CONTACT_EMAIL = ConfigKey.string("business.contacts.primary.email");
+    public static final ConfigKey<String> PRIMARY_COLOR = ConfigKey.string("ui.branding.primaryColor");
+    public static final ConfigKey<String> SECONDARY_COLOR = ConfigKey.string("ui.branding.secondaryColor");
+    public static final ConfigKey<String> DEFAULT_THEME = ConfigKey.string("ui.themes.default");
+    public static final ConfigKey<String> LANGUAGE = ConfigKey.string("ui.preferences.language");
+
+    /**
+     * Called with the changed values under the subscribed path.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onChange(ConfigChange change);
+    }
+
+    /**
+     * Called with the previous and the new value of one key.
+     */
+    @FunctionalInterface
+    public interface ValueListener<T> {
+        void onChange(T previous, T current);
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final Supplier<ConfigurationSnapshot> snapshots;
+    private final Executor executor;
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    // Última versão entregue aos listeners e a mais nova à espera de entrega
+    private volatile ConfigurationSnapshot dispatched;
+    private final AtomicReference<ConfigurationSnapshot> target = new AtomicReference<>();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    @Autowired
+    public ConfigClient(AppConfigurationService configService,
+                        @Qualifier("configListenerExecutor") Executor executor) {
+        this(configService::getSnapshot, executor);
+    }
+
+    ConfigClient(Supplier<ConfigurationSnapshot> snapshots, Executor executor) {
+        this.snapshots = snapshots;
+        this.executor = executor;
+        this.dispatched = snapshots.get();
+    }
+
+    public long getVersion() {
+        return snapshots.get().getVersion();
+    }
+
+    /**
+     * Current value of {@code key}, or {@code null} if it is not set.
+     */
+    public <T> T get(ConfigKey<T> key) {
+        return key.cast(values().get(key.getPath()));
+    }
+
+    public <T> T get(ConfigKey<T> key, T defaultValue) {
+        T value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Current value at a dotted path, untyped; prefer a {@link ConfigKey} constant.
+     */
+    public Object get(String path) {
+        return values().get(path);
+    }
+
+    public boolean isFeatureEnabled(String flag) {
+        return snapshots.get().getFlagIndex().isEnabled(flag);
+    }
+
+    private ConfigValues values() {
+        ConfigValues values = snapshots.get().getValues();
+        return values != null ? values : ConfigValues.EMPTY;
+    }
+
+    /**
+     * Subscribes to a path, to everything under {@code prefix.*}, or to everything with {@code *}.
+     */
+    public Subscription subscribe(String pattern, Listener listener) {
+        Registration registration = new Registration(pattern, listener);
+        registrations.add(registration);
+        return () -> registrations.remove(registration);
+    }
+
+    public <T> Subscription subscribe(ConfigKey<T> key, ValueListener<T> listener) {
+        return subscribe(key.getPath(), change -> listener.onChange(change.previous(key), change.current(key)));
+    }
+
+    @EventListener
+    public void onPublished(AppConfigurationService.ConfigurationPublishedEvent event) {
+        target.accumulateAndGet(event.getCurrent(),
+                (pending, current) -> pending == null || current.getVersion() > pending.getVersion() ? current : pending);
+        // Uma entrega por vez; versões que chegam durante ela saem juntas na próxima
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        dispatchScheduled.set(false);
+        ConfigurationSnapshot current = target.get();
+        ConfigurationSnapshot previous = dispatched;
+        if (current == null || current.getVersion() <= previous.getVersion() || registrations.isEmpty()) {
+            dispatched = current != null && current.getVersion() > previous.getVersion() ? current : previous;
+            return;
+        }
+        dispatched = current;
+
+        ConfigValues before = previous.getValues() != null ? previous.getValues() : ConfigValues.EMPTY;
+        Set<String> changed = ConfigValues.changedPaths(before, current.getValues());
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        for (Registration registration : registrations) {
+            Set<String> matched = registration.match(changed);
+            if (matched.isEmpty()) {
+                continue;
+            }
+            try {
+                registration.listener.onChange(new ConfigChange(previous.getVersion(), current.getVersion(),
+                        matched, before, current.getValues()));
+            } catch (Exception e) {
+                log.error("❌ Listener de {} falhou (v{} → v{}): {}", registration.pattern,
+                        previous.getVersion(), current.getVersion(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class Registration {
+        private final String pattern;
+        private final Listener listener;
+        // null para "*"; "ui.branding." para "ui.branding.*"
+        private final String prefix;
+        private final boolean subtree;
+
+        Registration(String pattern, Listener listener) {
+            if (pattern.isEmpty() || pattern.indexOf('*') >= 0
+                    && !(pattern.equals("*") || pattern.endsWith(".*") && pattern.indexOf('*') == pattern.length() - 1)) {
+                throw new IllegalArgumentException("Padrão inválido: '" + pattern + "' (use a.b, a.b.* ou *)");
+            }
+            this.pattern = pattern;
+            this.listener = listener;
+            this.subtree = pattern.endsWith("*");
+            this.prefix = pattern.equals("*") ? null : subtree ? pattern.substring(0, pattern.length() - 1) : pattern;
+        }
+
+        Set<String> match(Set<String> changed) {
+            if (prefix == null) {
+                return changed;
+            }
+            if (!subtree) {
+                return changed.contains(prefix) ? Set.of(prefix) : Set.of();
+            }
+            Set<String> matched = new HashSet<>();
+            for (String path : changed) {
+                if (path.startsWith(prefix)) {
+                    matched.add(path);
+                }
+            }
+            return matched;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Optional cluster mode: replicas agree on one configuration generation through a shared
+ * directory (a mounted volume), with no lock and no external service.
+ * <p>
+ * {@code objects/<hash>.json} holds file contents, named by their XxHash64 and never modified.
+ * {@code generations/<n>.json} is the manifest of generation {@code n}: the hash of every file
+ * and the node that published it. A node claims a generation by hard-linking a fully written
+ * temp file to its final name, which fails if another node claimed that number first, so each
+ * generation is published exactly once and readers never see a partial manifest. The highest
+ * generation is the current one; every node publishes it under that same version.
+ */
+@Slf4j
+@Component
+public class ConfigCluster {
+
+    private static final String OBJECTS = "objects";
+    private static final String GENERATIONS = "generations";
+    // Manifestos antigos apagados por quem publica; os objetos são pequenos e ficam
+    private static final int RETAINED_GENERATIONS = 64;
+
+    private final ObjectMapper objectMapper;
+    // null quando o modo cluster está desligado
+    private final Path directory;
+    @Getter
+    private final String nodeId;
+
+    public ConfigCluster(ObjectMapper objectMapper,
+                         @Value("${app.config.cluster.dir:}") String directory,
+                         @Value("${app.config.cluster.node-id:}") String nodeId) {
+        this.objectMapper = objectMapper;
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "localhost";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Manifest of the highest published generation, or {@code null} if none was published yet.
+     */
+    Manifest latest() throws IOException {
+        Path generations = directory.resolve(GENERATIONS);
+        if (!Files.isDirectory(generations)) {
+            return null;
+        }
+
+        // Nomes com zeros à esquerda: a maior geração é o maior nome
+        String newest = null;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(generations, "*.json")) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (newest == null || name.compareTo(newest) > 0) {
+                    newest = name;
+                }
+            }
+        }
+        return newest == null ? null : objectMapper.readValue(generations.resolve(newest).toFile(), Manifest.class);
+    }
+
+    /**
+     * Content of one file of a generation, checked against its hash.
+     */
+    ByteBuffer read(Manifest manifest, ConfigSection section) throws IOException {
+        String hash = manifest.getFiles().get(section.getFileName());
+        if (hash == null) {
+            throw new IOException("Geração " + manifest.getGeneration() + " sem " + section.getFileName());
+        }
+
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(object(hash)));
+        if (XxHash64.hash(content) != Long.parseUnsignedLong(hash, 16)) {
+            throw new IOException("Conteúdo corrompido no cluster: " + hash);
+        }
+        return content;
+    }
+
+    /**
+     * Publishes {@code generation} with the given file hashes, storing {@code contents} first.
+     * Every other hash must already be stored by an earlier generation.
+     *
+     * @return the new manifest, or {@code null} if another node claimed that generation first
+     */
+    Manifest publish(long generation, Map<ConfigSection, ByteBuffer> contents, long[] hashes) throws IOException {
+        Files.createDirectories(directory.resolve(OBJECTS));
+        Path generations = Files.createDirectories(directory.resolve(GENERATIONS));
+
+        for (Map.Entry<ConfigSection, ByteBuffer> entry : contents.entrySet()) {
+            writeObject(hex(hashes[entry.getKey().ordinal()]), entry.getValue());
+        }
+        Map<String, String> files = new LinkedHashMap<>();
+        for (ConfigSection section : ConfigSection.values()) {
+            String hash = hex(hashes[section.ordinal()]);
+            if (!Files.isRegularFile(object(hash))) {
+                throw new IOException("Conteúdo de " + section.getFileName() + " ausente no cluster: " + hash);
+            }
+            files.put(section.getFileName(), hash);
+        }
+
+        Manifest manifest = new Manifest(generation, nodeId, System.currentTimeMillis(), files);
+        Path temp = generations.resolve("." + UUID.randomUUID() + ".tmp");
+        try {
+            write(temp, ByteBuffer.wrap(objectMapper.writeValueAsBytes(manifest)));
+            // link(2) falha se o nome já existe: a reivindicação é atômica e exclusiva
+            Files.createLink(generations.resolve(String.format("%019d.json", generation)), temp);
+        } catch (FileAlreadyExistsException e) {
+            return null;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        prune(generations, generation - RETAINED_GENERATIONS);
+        return manifest;
+    }
+
+    static long hashOf(Manifest manifest, ConfigSection section) {
+        return Long.parseUnsignedLong(manifest.getFiles().get(section.getFileName()), 16);
+    }
+
+    private static String hex(long hash) {
+        return String.format("%016x", hash);
+    }
+
+    private Path object(String hash) {
+        return directory.resolve(OBJECTS).resolve(hash + ".json");
+    }
+
+    // Endereçado pelo conteúdo: se já existe, é idêntico
+    private void writeObject(String hash, ByteBuffer content) throws IOException {
+        Path target = object(hash);
+        if (Files.isRegularFile(target)) {
+            return;
+        }
+
+        Path temp = target.resolveSibling("." + UUID.randomUUID() + ".tmp");
+        try {
+            write(temp, content.duplicate());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Em disco antes de ficar visível: outro nó pode lê-lo logo após o link ou o rename
+    private static void write(Path file, ByteBuffer content) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+    }
+
+    private static void prune(Path generations, long before) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(generations, "*.json")) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (Long.parseLong(name.substring(0, name.length() - ".json".length())) < before) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.debug("Limpeza de gerações antigas ignorada: {}", e.getMessage());
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Manifest {
+        private long generation;
+        private String node;
+        private long publishedAt;
+        // Nome do arquivo → XxHash64 do conteúdo, em hexadecimal
+        private Map<String, String> files;
+    }
+}
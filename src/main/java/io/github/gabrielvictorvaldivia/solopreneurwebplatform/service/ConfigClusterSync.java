@@ -0,0 +1,203 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps this node on the generation agreed through {@link ConfigCluster}: adopts newer generations
+ * under their own number, proposes locally edited files as the next one, and publishes rollbacks
+ * as new generations. Runs on the reload pipeline like any other reload; the periodic check only
+ * queues a reload when a newer generation appears.
+ */
+@Slf4j
+@Component
+class ConfigClusterSync {
+
+    // Disputas seguidas pelo mesmo número de geração antes de desistir de um reload
+    private static final int CLUSTER_PUBLISH_ATTEMPTS = 3;
+
+    private final ConfigLoader loader;
+    // Modo cluster opcional: geração acordada entre os nós por um diretório compartilhado
+    private final ConfigCluster cluster;
+    private final ConfigMetrics configMetrics;
+    // Timer da verificação do cluster (ver AsyncConfig.configScheduler)
+    private final ScheduledExecutorService scheduler;
+    // Intervalo de verificação de novas gerações no diretório do cluster
+    private final Duration pollInterval;
+
+    // Hash dos arquivos locais na última leitura. É a referência para detectar edições locais,
+    // já que o snapshot pode ter vindo de outro nó
+    private final long[] localHashes = new long[ConfigSection.values().length];
+    // true quando nenhum nó publicou ainda: este inaugura o cluster com os próprios arquivos
+    @Getter
+    private boolean bootstrap;
+    // Geração rejeitada na validação; não é tentada de novo a cada verificação
+    private volatile long rejectedGeneration;
+
+    ConfigClusterSync(ConfigLoader loader, ConfigCluster cluster, ConfigMetrics configMetrics,
+                      ScheduledExecutorService scheduler,
+                      @Value("${app.config.cluster.poll-interval:1s}") Duration pollInterval) {
+        this.loader = loader;
+        this.cluster = cluster;
+        this.configMetrics = configMetrics;
+        this.scheduler = scheduler;
+        this.pollInterval = pollInterval;
+    }
+
+    boolean isEnabled() {
+        return cluster.isEnabled();
+    }
+
+    // O diretório compartilhado faz o papel do snapshot persistido
+    boolean restore() {
+        try {
+            for (ConfigSection section : ConfigSection.values()) {
+                localHashes[section.ordinal()] = XxHash64.hash(loader.readContent(section));
+            }
+
+            ConfigCluster.Manifest latest = cluster.latest();
+            if (latest == null) {
+                bootstrap = true;
+                return false;
+            }
+            adopt(latest, false);
+            log.info("🌐 Geração {} do cluster carregada (publicada por {})", latest.getGeneration(), latest.getNode());
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ Geração do cluster não aplicada, usando os arquivos locais: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Verificação periódica; onNewGeneration enfileira o reload que vai adotá-la
+    void start(Runnable onNewGeneration) {
+        scheduler.scheduleWithFixedDelay(() -> checkCluster(onNewGeneration), pollInterval.toMillis(),
+                pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("🌐 Modo cluster ativo como {}", cluster.getNodeId());
+    }
+
+    // Alcança a geração atual e propõe os arquivos locais editados como a próxima.
+    // Se outro nó reivindicar o mesmo número antes, aplica a dele e tenta de novo sobre ela
+    ConfigReloadPipeline.Outcome reload(Set<ConfigSection> sections, boolean force) throws IOException {
+        Set<ConfigSection> changed = EnumSet.noneOf(ConfigSection.class);
+        for (int attempt = 1; ; attempt++) {
+            ConfigCluster.Manifest latest = cluster.latest();
+            if (isNewer(latest)) {
+                changed.addAll(adopt(latest, true));
+            }
+
+            Map<ConfigSection, ByteBuffer> contents = new EnumMap<>(ConfigSection.class);
+            Map<ConfigSection, Long> hashes = new EnumMap<>(ConfigSection.class);
+            Map<ConfigSection, Object> loaded = loader.prepare(sections, force ? null : localHashes.clone(),
+                    loader::readContent, contents, hashes);
+            if (loaded.isEmpty()) {
+                return new ConfigReloadPipeline.Outcome(changed, loader.current().getVersion());
+            }
+
+            ConfigurationSnapshot current = loader.current();
+            long generation = Math.max(current.getVersion(), latest == null ? 0 : latest.getGeneration()) + 1;
+            long[] proposed = new long[ConfigSection.values().length];
+            for (ConfigSection section : ConfigSection.values()) {
+                proposed[section.ordinal()] = hashes.getOrDefault(section, current.getContentHash(section));
+            }
+
+            ConfigCluster.Manifest claimed = loader.stage(ConfigReload.Stage.PUBLISH,
+                    () -> cluster.publish(generation, contents, proposed));
+            if (claimed != null) {
+                log.info("🌐 Geração {} publicada no cluster: {}", generation, loaded.keySet());
+                ConfigurationSnapshot published = loader.commit(loaded, hashes, generation, true);
+                hashes.forEach((section, hash) -> localHashes[section.ordinal()] = hash);
+                changed.addAll(loaded.keySet());
+                return new ConfigReloadPipeline.Outcome(changed, published.getVersion());
+            }
+
+            if (attempt == CLUSTER_PUBLISH_ATTEMPTS) {
+                configMetrics.reloadStageFailed(ConfigReload.Stage.PUBLISH.getKey());
+                throw new ConfigReloadException(ConfigReload.Stage.PUBLISH,
+                        "Geração " + generation + " reivindicada por outro nó em todas as tentativas", List.of());
+            }
+            log.info("🌐 Geração {} já reivindicada por outro nó; aplicando-a antes de tentar de novo", generation);
+        }
+    }
+
+    /**
+     * Claims the next generation for a rollback, pointing at the target's contents, and adds the
+     * hashes of the restored sections to {@code hashes}.
+     *
+     * @return the claimed generation, to publish the rollback under
+     */
+    long publishRollback(ConfigurationSnapshot previous, ConfigurationSnapshot target,
+                         Set<ConfigSection> restored, Map<ConfigSection, Long> hashes) throws IOException {
+        ConfigCluster.Manifest latest = cluster.latest();
+        long generation = Math.max(previous.getVersion(), latest == null ? 0 : latest.getGeneration()) + 1;
+        long[] targetHashes = new long[ConfigSection.values().length];
+        for (ConfigSection section : ConfigSection.values()) {
+            targetHashes[section.ordinal()] = target.getContentHash(section);
+            if (restored.contains(section)) {
+                hashes.put(section, target.getContentHash(section));
+            }
+        }
+        if (cluster.publish(generation, Map.of(), targetHashes) == null) {
+            throw new ConfigReloadException(ConfigReload.Stage.PUBLISH,
+                    "Geração " + generation + " reivindicada por outro nó; tente novamente", List.of());
+        }
+        return generation;
+    }
+
+    private boolean isNewer(ConfigCluster.Manifest latest) {
+        return latest != null && latest.getGeneration() > loader.current().getVersion()
+                && latest.getGeneration() != rejectedGeneration;
+    }
+
+    // Publica uma geração do cluster com o mesmo número usado pelos outros nós; só os arquivos
+    // cujo hash difere do snapshot atual são lidos do diretório compartilhado
+    private Set<ConfigSection> adopt(ConfigCluster.Manifest manifest, boolean announce) throws IOException {
+        ConfigurationSnapshot current = loader.current();
+        Set<ConfigSection> sections = EnumSet.noneOf(ConfigSection.class);
+        for (ConfigSection section : ConfigSection.values()) {
+            if (!current.isComplete() || ConfigCluster.hashOf(manifest, section) != current.getContentHash(section)) {
+                sections.add(section);
+            }
+        }
+
+        Map<ConfigSection, ByteBuffer> contents = new EnumMap<>(ConfigSection.class);
+        Map<ConfigSection, Long> hashes = new EnumMap<>(ConfigSection.class);
+        Map<ConfigSection, Object> loaded;
+        try {
+            loaded = loader.prepare(sections, null, section -> cluster.read(manifest, section), contents, hashes);
+        } catch (ConfigReloadException e) {
+            rejectedGeneration = manifest.getGeneration();
+            log.error("❌ Geração {} do cluster rejeitada: {}", manifest.getGeneration(), e.getMessage());
+            throw e;
+        }
+
+        // Mesmo sem seções alteradas a versão avança: todos os nós servem o mesmo número
+        loader.commit(loaded, hashes, manifest.getGeneration(), announce);
+        return loaded.keySet();
+    }
+
+    // Só enfileira um reload quando há geração nova; listar o diretório é barato
+    private void checkCluster(Runnable onNewGeneration) {
+        try {
+            if (isNewer(cluster.latest())) {
+                onNewGeneration.run();
+            }
+        } catch (Exception e) {
+            log.error("❌ Erro ao verificar o cluster: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * One mapper per {@link ConfigFormat}. The CBOR and Smile mappers are copies of the application's
+ * {@link ObjectMapper}, so every format sees the same modules and serialization features.
+ */
+@Component
+public class ConfigCodecs {
+
+    private final ObjectMapper[] mappers;
+    // Compressão adiada até o primeiro pedido que aceite gzip/brotli
+    private final boolean lazyCompression;
+
+    @Autowired
+    public ConfigCodecs(ObjectMapper objectMapper) {
+        this.mappers = new ObjectMapper[ConfigFormat.values().length];
+        this.lazyCompression = false;
+        for (ConfigFormat format : ConfigFormat.values()) {
+            mappers[format.ordinal()] = switch (format) {
+                case JSON -> objectMapper;
+                case CBOR -> objectMapper.copyWith(new CBORFactory());
+                case SMILE -> objectMapper.copyWith(new SmileFactory());
+            };
+        }
+    }
+
+    private ConfigCodecs(ObjectMapper[] mappers, boolean lazyCompression) {
+        this.mappers = mappers;
+        this.lazyCompression = lazyCompression;
+    }
+
+    /**
+     * The same mappers, producing {@link SerializedConfig#lazy} bodies.
+     */
+    public ConfigCodecs withLazyCompression() {
+        return new ConfigCodecs(mappers, true);
+    }
+
+    public ObjectMapper mapper(ConfigFormat format) {
+        return mappers[format.ordinal()];
+    }
+
+    /**
+     * Encodes a value in every format.
+     */
+    public SerializedConfig serialize(Object value) throws JsonProcessingException {
+        byte[][] bodies = new byte[mappers.length][];
+        for (int i = 0; i < mappers.length; i++) {
+            bodies[i] = mappers[i].writeValueAsBytes(value);
+        }
+        return lazyCompression ? SerializedConfig.lazy(bodies) : SerializedConfig.of(bodies);
+    }
+}
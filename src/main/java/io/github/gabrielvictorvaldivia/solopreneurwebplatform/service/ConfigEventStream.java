@@ -0,0 +1,249 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-Sent Events fan-out of configuration changes, the read-only alternative to the STOMP topic.
+ * <p>
+ * Every event is encoded once into an SSE frame and the same bytes are written to every
+ * subscriber. Writes use non-blocking servlet I/O: frames a subscriber cannot take yet wait in
+ * a small bounded buffer, and a subscriber whose buffer fills up is disconnected instead of
+ * holding a thread or slowing everyone else down. It reconnects with {@code Last-Event-ID}.
+ * An idle subscriber holds no thread and no Spring MVC request state, only its async context.
+ * <p>
+ * {@link ConfigNotifier} serializes {@link #publish} and {@link #subscribe} so that a
+ * subscriber's replay always comes before the live events it did not already receive.
+ */
+@Slf4j
+@Component
+public class ConfigEventStream {
+
+    static final String PATCH_EVENT = "patch";
+    static final String SNAPSHOT_EVENT = "snapshot";
+
+    private static final Frame HEARTBEAT = new Frame(0L, ":\n\n".getBytes(StandardCharsets.US_ASCII));
+
+    private final ConfigMetrics configMetrics;
+    private final int bufferSize;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public ConfigEventStream(ScheduledExecutorService configScheduler,
+                             ConfigMetrics configMetrics,
+                             @Value("${app.config.stream.buffer:32}") int bufferSize,
+                             @Value("${app.config.stream.heartbeat:15s}") Duration heartbeat) {
+        this.configMetrics = configMetrics;
+        this.bufferSize = bufferSize;
+
+        configMetrics.bindStreamSubscribers(subscribers);
+        // Comentário SSE periódico: mantém proxies abertos e detecta conexões mortas
+        configScheduler.scheduleAtFixedRate(() -> subscribers.forEach(s -> s.offer(HEARTBEAT)),
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Attaches a started async request that first receives {@code replay}, then every event
+     * published afterwards with a version above the last replayed one.
+     */
+    void subscribe(AsyncContext context, List<Frame> replay) throws IOException {
+        Subscriber subscriber = new Subscriber(context);
+        for (Frame frame : replay) {
+            subscriber.offer(frame);
+        }
+        subscribers.add(subscriber);
+        context.addListener(subscriber);
+        context.getResponse().getOutputStream().setWriteListener(subscriber);
+    }
+
+    void publish(Frame frame) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    // Encerra os streams antes do graceful shutdown, que esperaria por eles até o timeout
+    @EventListener(ContextClosedEvent.class)
+    public void closeAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+    }
+
+    /**
+     * Encodes an SSE event. Multi-line payloads become one {@code data:} line per line.
+     */
+    static Frame frame(String event, long version, byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length + 48);
+        out.writeBytes(("id: " + version + "\nevent: " + event + "\ndata: ").getBytes(StandardCharsets.US_ASCII));
+        for (byte b : data) {
+            if (b == '\n') {
+                out.writeBytes("\ndata: ".getBytes(StandardCharsets.US_ASCII));
+            } else if (b != '\r') {
+                out.write(b);
+            }
+        }
+        out.writeBytes("\n\n".getBytes(StandardCharsets.US_ASCII));
+        return new Frame(version, out.toByteArray());
+    }
+
+    /**
+     * An encoded event, shared by every subscriber. Version 0 marks frames that are not
+     * configuration versions (heartbeats).
+     */
+    static final class Frame {
+        private final long version;
+        private final byte[] bytes;
+
+        private Frame(long version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+
+        long getVersion() {
+            return version;
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+    }
+
+    private final class Subscriber implements WriteListener, AsyncListener {
+        private final AsyncContext context;
+        // Criado sob demanda e liberado ao esvaziar: assinantes ociosos não guardam buffer
+        private ArrayDeque<Frame> pending;
+        private ServletOutputStream out;
+        private boolean closed;
+
+        // Última versão enfileirada: evita reenviar o que já veio no replay
+        private long lastVersion;
+
+        private Subscriber(AsyncContext context) {
+            this.context = context;
+        }
+
+        synchronized void offer(Frame frame) {
+            if (closed) {
+                return;
+            }
+            if (frame.version != 0) {
+                if (frame.version <= lastVersion) {
+                    return;
+                }
+                lastVersion = frame.version;
+            }
+            if (pending == null) {
+                pending = new ArrayDeque<>();
+            }
+            if (pending.size() == bufferSize) {
+                drop();
+                return;
+            }
+            pending.addLast(frame);
+            if (out != null) {
+                flush();
+            }
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            if (closed) {
+                return;
+            }
+            if (out == null) {
+                try {
+                    out = context.getResponse().getOutputStream();
+                } catch (IOException e) {
+                    close();
+                    return;
+                }
+            }
+            flush();
+        }
+
+        // Escreve o que o socket aceitar sem bloquear; o restante espera o próximo onWritePossible
+        private void flush() {
+            try {
+                while (out.isReady()) {
+                    Frame frame = pending == null ? null : pending.pollFirst();
+                    if (frame == null) {
+                        pending = null;
+                        out.flush();
+                        return;
+                    }
+                    out.write(frame.bytes);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private void drop() {
+            configMetrics.streamSubscriberDropped();
+            log.warn("⚠️ Assinante SSE lento desconectado ({} eventos pendentes)", pending.size());
+            close();
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending = null;
+            subscribers.remove(this);
+            try {
+                context.complete();
+            } catch (IllegalStateException e) {
+                log.debug("Stream SSE já finalizado pelo container");
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            subscribers.remove(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Wire formats of the pre-encoded configuration documents. JSON is the default; CBOR and Smile
+ * carry the same document for clients where parsing JSON text is too costly.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ConfigFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, ".cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), ".smile");
+
+    private final MediaType mediaType;
+    // Sufixo do destino STOMP: /topic/config-updates, /topic/config-updates.cbor, ...
+    private final String destinationSuffix;
+
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    /**
+     * Best format for the ranges of an {@code Accept} header, by quality value. On a tie, a format
+     * listed explicitly wins over one matched only by a wildcard, then JSON wins. Returns JSON when
+     * there is no header, or {@code null} when no format is acceptable.
+     */
+    public static ConfigFormat negotiate(List<MediaType> accept) {
+        if (accept.isEmpty()) {
+            return JSON;
+        }
+
+        ConfigFormat best = null;
+        double bestQuality = 0;
+        boolean bestExplicit = false;
+        for (ConfigFormat format : values()) {
+            MediaType range = matchingRange(format, accept);
+            if (range == null) {
+                continue;
+            }
+            double quality = range.getQualityValue();
+            boolean explicit = specificity(range) == 2;
+            if (quality > bestQuality || (quality == bestQuality && quality > 0 && explicit && !bestExplicit)) {
+                best = format;
+                bestQuality = quality;
+                bestExplicit = explicit;
+            }
+        }
+        return best;
+    }
+
+    // A faixa mais específica que inclui o formato define sua qualidade (RFC 9110, 12.5.1)
+    private static MediaType matchingRange(ConfigFormat format, List<MediaType> accept) {
+        MediaType match = null;
+        for (MediaType range : accept) {
+            if (range.includes(format.mediaType) && (match == null || specificity(range) > specificity(match))) {
+                match = range;
+            }
+        }
+        return match;
+    }
+
+    private static int specificity(MediaType range) {
+        return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+    }
+}
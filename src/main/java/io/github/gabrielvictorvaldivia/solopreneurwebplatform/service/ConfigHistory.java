@@ -0,0 +1,72 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity ring buffer of the last published snapshots.
+ * <p>
+ * Snapshots share every unchanged section with the generations around them, so keeping
+ * N of them costs roughly one copy of each section that actually changed, plus the
+ * pre-serialized bodies. Old generations are overwritten in place.
+ */
+@Component
+public class ConfigHistory {
+
+    private final ConfigurationSnapshot[] ring;
+    private int next;
+    private int size;
+
+    public ConfigHistory(@Value("${app.config.history.capacity:20}") int capacity) {
+        this.ring = new ConfigurationSnapshot[capacity];
+    }
+
+    synchronized void record(ConfigurationSnapshot snapshot) {
+        ring[next] = snapshot;
+        next = (next + 1) % ring.length;
+        size = Math.min(size + 1, ring.length);
+    }
+
+    /**
+     * Retained snapshot with the given version, or {@code null} if it was evicted or never existed.
+     */
+    public synchronized ConfigurationSnapshot get(long version) {
+        for (int i = 0; i < size; i++) {
+            ConfigurationSnapshot snapshot = ring[index(i)];
+            if (snapshot.getVersion() == version) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retained versions, oldest first.
+     */
+    public synchronized List<VersionSummary> list() {
+        List<VersionSummary> versions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ConfigurationSnapshot snapshot = ring[index(i)];
+            versions.add(new VersionSummary(snapshot.getVersion(), snapshot.getLoadedAt()));
+        }
+        return versions;
+    }
+
+    // i-ésimo snapshot retido, do mais antigo para o mais novo
+    private int index(int i) {
+        return (next - size + i + ring.length) % ring.length;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class VersionSummary {
+        private final long version;
+        private final Instant loadedAt;
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Typed handle of one configuration value, read through {@link ConfigClient#get(ConfigKey)}.
+ * Declare keys once, as constants; the path is a dotted path into {@code /api/config/current}.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConfigKey<T> {
+
+    private final String path;
+    private final Class<T> type;
+
+    public static ConfigKey<String> string(String path) {
+        return new ConfigKey<>(path, String.class);
+    }
+
+    public static ConfigKey<Boolean> bool(String path) {
+        return new ConfigKey<>(path, Boolean.class);
+    }
+
+    public static ConfigKey<Integer> integer(String path) {
+        return new ConfigKey<>(path, Integer.class);
+    }
+
+    public static ConfigKey<Double> decimal(String path) {
+        return new ConfigKey<>(path, Double.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ConfigKey<List<Object>> list(String path) {
+        return new ConfigKey<>(path, (Class<List<Object>>) (Class<?>) List.class);
+    }
+
+    // Números gravados com outro tipo (ex.: um inteiro lido como Double) são convertidos
+    T cast(Object value) {
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        if (value instanceof Number number) {
+            if (type == Integer.class) {
+                return type.cast(number.intValue());
+            }
+            if (type == Double.class) {
+                return type.cast(number.doubleValue());
+            }
+        }
+        throw new ClassCastException(path + ": " + value.getClass().getSimpleName() + " não é " + type.getSimpleName());
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
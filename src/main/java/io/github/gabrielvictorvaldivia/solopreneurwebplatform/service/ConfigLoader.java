@@ -0,0 +1,244 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the published {@link ConfigurationSnapshot} and the stages that produce the next one:
+ * read, parse and validate outside the lock, then compile and publish under it. Every publication
+ * is recorded in the history, persisted in the background and, when asked, announced through
+ * {@link ConfigNotifier}. A failing stage throws a {@link ConfigReloadException} naming it, and
+ * the last good snapshot stays published.
+ */
+@Component
+class ConfigLoader {
+
+    // A partir deste tamanho o arquivo é mapeado em memória em vez de lido para o heap
+    private static final long MMAP_THRESHOLD = 256 * 1024;
+
+    private final ObjectMapper objectMapper;
+    // Mesmo documento em JSON, CBOR e Smile
+    private final ConfigCodecs codecs;
+    private final ConfigMetrics configMetrics;
+    private final ConfigHistory history;
+    private final ConfigNotifier notifier;
+    // Última geração publicada, gravada em disco para a próxima inicialização
+    private final ConfigSnapshotStore snapshotStore;
+    // Gravação do snapshot fora do lock
+    private final Executor configTaskExecutor;
+    // Fonte única, a mesma observada pelo ConfigWatcher; arquivos ausentes caem nas cópias do classpath
+    private final Path configDir;
+
+    // Configurações em memória: uma única geração publicada atomicamente.
+    // Leitores nunca bloqueiam; escritores são serializados por reloadLock.
+    private final AtomicReference<ConfigurationSnapshot> snapshot =
+            new AtomicReference<>(ConfigurationSnapshot.EMPTY);
+    private final Object reloadLock = new Object();
+
+    ConfigLoader(ObjectMapper objectMapper, ConfigCodecs codecs, ConfigMetrics configMetrics, ConfigHistory history,
+                 ConfigNotifier notifier, ConfigSnapshotStore snapshotStore,
+                 @Qualifier("configTaskExecutor") Executor configTaskExecutor,
+                 @Value("${app.config.dir:config}") Path configDir) {
+        this.objectMapper = objectMapper;
+        this.codecs = codecs;
+        this.configMetrics = configMetrics;
+        this.history = history;
+        this.notifier = notifier;
+        this.snapshotStore = snapshotStore;
+        this.configTaskExecutor = configTaskExecutor;
+        this.configDir = configDir;
+    }
+
+    ConfigurationSnapshot current() {
+        return snapshot.get();
+    }
+
+    // Snapshot restaurado na inicialização: publicado como está, sem anúncio
+    void publishRestored(ConfigurationSnapshot restored) throws IOException {
+        synchronized (reloadLock) {
+            publish(compile(restored));
+        }
+    }
+
+    boolean hasExternalFiles() {
+        for (ConfigSection section : ConfigSection.values()) {
+            if (Files.isRegularFile(configDir.resolve(section.getFileName()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Serializa e indexa uma única vez por geração; seções inalteradas mantêm o corpo serializado, e com ele o ETag
+    private ConfigurationSnapshot compile(ConfigurationSnapshot candidate) throws IOException {
+        return candidate.assemble(codecs, objectMapper, snapshot.get());
+    }
+
+    // Troca a geração publicada; chamado sempre sob reloadLock
+    private void publish(ConfigurationSnapshot published) {
+        snapshot.set(published);
+        history.record(published);
+        // Gravação fora do lock; o store descarta versões já superadas
+        configTaskExecutor.execute(() -> snapshotStore.save(published));
+    }
+
+    // Compila e publica as seções alteradas como a versão `generation` (em cluster) ou a próxima local (0).
+    // Uma geração do cluster já superada aqui não é publicada de novo
+    ConfigurationSnapshot commit(Map<ConfigSection, Object> loaded, Map<ConfigSection, Long> hashes,
+                                 long generation, boolean announce) throws IOException {
+        ConfigurationSnapshot previous;
+        ConfigurationSnapshot published;
+        long publishStart;
+        synchronized (reloadLock) {
+            previous = snapshot.get();
+            if (generation > 0 && generation <= previous.getVersion()) {
+                return previous;
+            }
+            long version = generation > 0 ? generation : previous.getVersion() + 1;
+            published = stage(ConfigReload.Stage.COMPILE, () -> compile(previous.next(loaded, hashes, version)));
+            publishStart = System.nanoTime();
+            publish(published);
+        }
+        configMetrics.reload();
+
+        // Publicar inclui os eventos internos e as notificações aos clientes
+        if (announce) {
+            notifier.announce(previous, published, loaded.keySet());
+        }
+        configMetrics.reloadStage(ConfigReload.Stage.PUBLISH.getKey(), System.nanoTime() - publishStart);
+        return published;
+    }
+
+    @FunctionalInterface
+    interface ContentSource {
+        ByteBuffer read(ConfigSection section) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface StageAction<T> {
+        T run() throws Exception;
+    }
+
+    // Mede a etapa e, se ela falhar, identifica-a no erro do reload
+    <T> T stage(ConfigReload.Stage stage, StageAction<T> action) throws ConfigReloadException {
+        long start = System.nanoTime();
+        try {
+            return action.run();
+        } catch (ConfigReloadException e) {
+            configMetrics.reloadStageFailed(stage.getKey());
+            throw e;
+        } catch (Exception e) {
+            configMetrics.reloadStageFailed(stage.getKey());
+            throw new ConfigReloadException(stage, e);
+        } finally {
+            configMetrics.reloadStage(stage.getKey(), System.nanoTime() - start);
+        }
+    }
+
+    // Etapas anteriores ao lock: ler, converter e validar. Arquivos com o mesmo hash da referência
+    // (null: nenhuma, tudo é lido) param na leitura; o mapa devolvido só tem seções prontas para
+    // publicar (vazio se nada mudou), e contents e hashes recebem o conteúdo lido delas
+    Map<ConfigSection, Object> prepare(Set<ConfigSection> sections, long[] baseline, ContentSource source,
+                                       Map<ConfigSection, ByteBuffer> contents,
+                                       Map<ConfigSection, Long> hashes) throws IOException {
+        stage(ConfigReload.Stage.READ, () -> {
+            for (ConfigSection section : sections) {
+                ByteBuffer content = source.read(section);
+                long hash = XxHash64.hash(content);
+                if (baseline != null) {
+                    if (hash == baseline[section.ordinal()]) {
+                        configMetrics.unchangedFile();
+                        continue;
+                    }
+                    configMetrics.changedFile();
+                }
+                hashes.put(section, hash);
+                contents.put(section, content);
+            }
+            return null;
+        });
+
+        Map<ConfigSection, Object> loaded = stage(ConfigReload.Stage.PARSE, () -> {
+            Map<ConfigSection, Object> parsed = new EnumMap<>(ConfigSection.class);
+            for (Map.Entry<ConfigSection, ByteBuffer> entry : contents.entrySet()) {
+                parsed.put(entry.getKey(), parse(entry.getValue(), entry.getKey().getType()));
+            }
+            return parsed;
+        });
+
+        return stage(ConfigReload.Stage.VALIDATE, () -> {
+            for (Map.Entry<ConfigSection, Object> entry : loaded.entrySet()) {
+                ConfigValidator.validate(entry.getKey(), entry.getValue());
+            }
+            return loaded;
+        });
+    }
+
+    // Leitura NIO única por arquivo: o mesmo buffer serve para o hash e para o parse
+    ByteBuffer readContent(ConfigSection section) throws IOException {
+        Path file = configDir.resolve(section.getFileName());
+        if (Files.isRegularFile(file)) {
+            return readFile(file);
+        }
+
+        Resource resource = new ClassPathResource("config/" + section.getFileName());
+        if (!resource.exists()) {
+            throw new IOException("Arquivo de configuração não encontrado: " + section.getFileName());
+        }
+        try (ReadableByteChannel channel = resource.readableChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(1024, resource.contentLength() + 1));
+            while (channel.read(buffer) != -1) {
+                if (!buffer.hasRemaining()) {
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+                }
+            }
+            return buffer.flip();
+        }
+    }
+
+    // Direto do FileChannel para o buffer; arquivos grandes são mapeados em vez de copiados para o heap
+    private ByteBuffer readFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MMAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) {
+                    break; // o arquivo encolheu desde o size()
+                }
+            }
+            return buffer.flip();
+        }
+    }
+
+    // Heap: o parser lê o próprio array; mapeado: lido em blocos pelo parser, sem cópia integral
+    private <T> T parse(ByteBuffer content, Class<T> configClass) throws IOException {
+        if (content.hasArray()) {
+            return objectMapper.readValue(content.array(), content.arrayOffset() + content.position(),
+                    content.remaining(), configClass);
+        }
+        return objectMapper.readValue(new ByteBufferBackedInputStream(content.duplicate()), configClass);
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import jakarta.servlet.AsyncContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Announces every published generation: one in-process event per changed section, one
+ * {@link AppConfigurationService.ConfigurationPublishedEvent}, and a single JSON Patch delta for
+ * clients, encoded once and sent to the patch log, the SSE stream and each STOMP destination.
+ * Also attaches SSE subscribers, replaying the patches they missed from the same log.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class ConfigNotifier {
+
+    private final ObjectMapper objectMapper;
+    // Mesmo documento em JSON, CBOR e Smile
+    private final ConfigCodecs codecs;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ConfigEventStream eventStream;
+    // Deltas já enviados, para clientes que perderam versões
+    private final ConfigPatchLog patchLog;
+
+    // Serializa log de deltas e stream SSE: replay de um assinante nunca cruza um evento ao vivo
+    private final Object streamLock = new Object();
+    // Evento "snapshot" do SSE, codificado uma vez por versão
+    private volatile ConfigEventStream.Frame snapshotFrame;
+
+    // Evento interno por seção alterada e um único delta por geração para os clientes.
+    // Chamado após cada publicação, na ordem das versões
+    void announce(ConfigurationSnapshot previous, ConfigurationSnapshot published, Set<ConfigSection> sections) {
+        for (ConfigSection section : sections) {
+            eventPublisher.publishEvent(new AppConfigurationService.ConfigurationChangedEvent(section.getKey(),
+                    previous.get(section), published.get(section)));
+        }
+        eventPublisher.publishEvent(new AppConfigurationService.ConfigurationPublishedEvent(previous, published));
+
+        notifyClients(previous, published, sections);
+    }
+
+    private void notifyClients(ConfigurationSnapshot previous, ConfigurationSnapshot current,
+                               Set<ConfigSection> sections) {
+        try {
+            // Delta RFC 6902 sobre o documento de /api/config/current
+            ArrayNode patch = JsonNodeFactory.instance.arrayNode();
+            for (ConfigSection section : sections) {
+                patch.addAll(JsonPatch.diff(
+                        previous.get(section) == null ? null : objectMapper.valueToTree(previous.get(section)),
+                        objectMapper.valueToTree(current.get(section)),
+                        "/" + section.getKey()));
+            }
+
+            String configType = sections.size() == 1 ? sections.iterator().next().getKey() : "all";
+            AppConfigurationService.ConfigUpdateMessage message = new AppConfigurationService.ConfigUpdateMessage(
+                    configType, previous.getVersion(), current.getVersion(), patch, Instant.now().toEpochMilli());
+
+            // Serializado uma única vez; os mesmos bytes vão para todos os assinantes e para o log
+            byte[] payload = objectMapper.writeValueAsBytes(message);
+            ConfigEventStream.Frame frame = ConfigEventStream.frame(
+                    ConfigEventStream.PATCH_EVENT, current.getVersion(), payload);
+            synchronized (streamLock) {
+                patchLog.append(previous.getVersion(), current.getVersion(), payload);
+                eventStream.publish(frame);
+            }
+
+            // Um destino STOMP por formato, cada um codificado uma única vez
+            for (ConfigFormat format : ConfigFormat.values()) {
+                byte[] encoded = format == ConfigFormat.JSON ? payload : codecs.mapper(format).writeValueAsBytes(message);
+                messagingTemplate.send(ConfigUpdateConflater.destination(format), ConfigUpdateConflater.updateMessage(
+                        format, encoded, previous.getVersion(), current.getVersion()));
+            }
+
+            log.info("📢 Clientes notificados sobre mudança em: {} (v{} → v{}, {} operações)",
+                    configType, previous.getVersion(), current.getVersion(), patch.size());
+
+        } catch (Exception e) {
+            log.error("❌ Erro ao notificar clientes: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serialized chain of patch messages from {@code sinceVersion} to {@code currentVersion}, as a
+     * JSON array, or {@code null} if the chain is no longer available.
+     */
+    byte[] patchesSince(long sinceVersion, long currentVersion) {
+        return patchLog.since(sinceVersion, currentVersion);
+    }
+
+    /**
+     * Attaches a started async request to the SSE stream, replaying the patches since
+     * {@code lastEventId} or a snapshot event. The replay is built under the same lock that
+     * appends live patches, so it never interleaves with one.
+     */
+    void openStream(Long lastEventId, AsyncContext context, Supplier<ConfigurationSnapshot> snapshot)
+            throws IOException {
+        synchronized (streamLock) {
+            ConfigurationSnapshot current = snapshot.get();
+            List<ConfigPatchLog.Entry> chain = lastEventId == null
+                    ? null : patchLog.chainSince(lastEventId, current.getVersion());
+
+            List<ConfigEventStream.Frame> replay = new ArrayList<>();
+            if (chain != null && chain.size() <= eventStream.bufferSize()) {
+                for (ConfigPatchLog.Entry entry : chain) {
+                    replay.add(ConfigEventStream.frame(ConfigEventStream.PATCH_EVENT, entry.getVersion(), entry.getPayload()));
+                }
+            } else if (current.getCurrentJson() != null) {
+                replay.add(snapshotFrame(current));
+            }
+
+            eventStream.subscribe(context, replay);
+        }
+    }
+
+    private ConfigEventStream.Frame snapshotFrame(ConfigurationSnapshot current) {
+        ConfigEventStream.Frame frame = snapshotFrame;
+        if (frame == null || frame.getVersion() != current.getVersion()) {
+            frame = ConfigEventStream.frame(ConfigEventStream.SNAPSHOT_EVENT,
+                    current.getVersion(), current.getCurrentJson().getBody());
+            snapshotFrame = frame;
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bounded log of the serialized patch messages already broadcast, so clients that missed
+ * versions can catch up with a patch chain instead of downloading a full snapshot.
+ * Entries keep the exact bytes sent on {@code /topic/config-updates}.
+ */
+@Component
+class ConfigPatchLog {
+
+    private final int capacity;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+
+    ConfigPatchLog(@Value("${app.config.patch-log.capacity:64}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    synchronized void append(long baseVersion, long version, byte[] payload) {
+        if (entries.size() == capacity) {
+            entries.removeFirst();
+        }
+        entries.addLast(new Entry(baseVersion, version, payload));
+    }
+
+    /**
+     * JSON array of every patch after {@code sinceVersion}, in order, or {@code null} when the
+     * chain from that version is no longer complete and the client must resync from a full snapshot.
+     */
+    synchronized byte[] since(long sinceVersion, long currentVersion) {
+        List<Entry> chain = chainSince(sinceVersion, currentVersion);
+        if (chain == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = 0; i < chain.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(chain.get(i).payload);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    /**
+     * Every patch after {@code sinceVersion} up to {@code currentVersion}, in order, or
+     * {@code null} when that chain is incomplete.
+     */
+    synchronized List<Entry> chainSince(long sinceVersion, long currentVersion) {
+        if (sinceVersion == currentVersion) {
+            return List.of();
+        }
+        if (sinceVersion > currentVersion) {
+            return null;
+        }
+
+        List<Entry> chain = new ArrayList<>();
+        long expected = sinceVersion;
+        for (Entry entry : entries) {
+            if (entry.version <= sinceVersion) {
+                continue;
+            }
+            if (entry.version > currentVersion) {
+                break;
+            }
+            // Lacuna na cadeia: o cliente precisa do snapshot completo
+            if (entry.baseVersion != expected) {
+                return null;
+            }
+            chain.add(entry);
+            expected = entry.version;
+        }
+
+        return expected == currentVersion ? chain : null;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static final class Entry {
+        private final long baseVersion;
+        private final long version;
+        private final byte[] payload;
+    }
+}
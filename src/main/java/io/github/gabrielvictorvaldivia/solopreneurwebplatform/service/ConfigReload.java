@@ -0,0 +1,136 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One pass of the reload pipeline, shared by every request that joined it. Polled through
+ * {@code GET /api/config/reload/{id}}.
+ */
+@Getter
+public final class ConfigReload {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * Stages of one reload, in order. A failed stage stops the reload before anything is published.
+     */
+    public enum Stage {
+        READ, PARSE, VALIDATE, COMPILE, PUBLISH;
+
+        // Valor da tag "stage" das métricas
+        public String getKey() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final long id;
+    private final Instant requestedAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    // Arquivos a verificar; cresce enquanto o reload está na fila e outros pedidos se juntam a ele
+    private volatile Set<ConfigSection> sections;
+    // Força o parse e o broadcast mesmo com o hash inalterado (recarga manual)
+    private volatile boolean force;
+    // Versão retida a republicar; 0 num reload dos arquivos
+    private final long rollbackTo;
+    private volatile int requests = 1;
+    private volatile Set<ConfigSection> changed = Set.of();
+    private volatile long version;
+    private volatile String error;
+    // Etapa em que o reload parou e, na validação, as regras violadas
+    private volatile Stage failedStage;
+    private volatile List<String> violations = List.of();
+    private volatile Instant completedAt;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final CompletableFuture<ConfigReload> completion = new CompletableFuture<>();
+
+    ConfigReload(long id, Set<ConfigSection> sections, boolean force, long rollbackTo) {
+        this.id = id;
+        this.sections = EnumSet.copyOf(sections);
+        this.force = force;
+        this.rollbackTo = rollbackTo;
+    }
+
+    @JsonIgnore
+    public boolean isRollback() {
+        return rollbackTo > 0;
+    }
+
+    @JsonIgnore
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Blocks until this reload has finished, successfully or not.
+     */
+    public ConfigReload await() {
+        return completion.join();
+    }
+
+    /**
+     * Waits at most {@code timeout}; whether it finished is told by {@link #isDone()}.
+     */
+    public ConfigReload await(Duration timeout) {
+        try {
+            completion.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Ainda em andamento: o chamador responde com o status atual
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return this;
+    }
+
+    // Chamados pelo pipeline sob o próprio lock
+    void join(Set<ConfigSection> moreSections, boolean moreForce) {
+        if (!sections.containsAll(moreSections)) {
+            Set<ConfigSection> union = EnumSet.copyOf(sections);
+            union.addAll(moreSections);
+            sections = union;
+        }
+        force |= moreForce;
+        requests++;
+    }
+
+    void start() {
+        status = Status.RUNNING;
+    }
+
+    void complete(Set<ConfigSection> changedSections, long publishedVersion) {
+        changed = changedSections.isEmpty() ? Set.of() : EnumSet.copyOf(changedSections);
+        version = publishedVersion;
+        finish(Status.COMPLETED);
+    }
+
+    void fail(Throwable e) {
+        error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        if (e instanceof ConfigReloadException reloadError) {
+            failedStage = reloadError.getStage();
+            violations = reloadError.getViolations();
+        }
+        finish(Status.FAILED);
+    }
+
+    private void finish(Status finalStatus) {
+        completedAt = Instant.now();
+        status = finalStatus;
+        completion.complete(this);
+    }
+}
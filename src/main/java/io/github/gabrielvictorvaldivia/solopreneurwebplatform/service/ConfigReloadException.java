@@ -0,0 +1,29 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A reload stopped at one stage of the pipeline; nothing it read was published.
+ */
+@Getter
+public class ConfigReloadException extends IOException {
+
+    private final ConfigReload.Stage stage;
+    // Regras violadas, apenas na etapa de validação
+    private final List<String> violations;
+
+    ConfigReloadException(ConfigReload.Stage stage, String message, List<String> violations) {
+        super(message);
+        this.stage = stage;
+        this.violations = List.copyOf(violations);
+    }
+
+    ConfigReloadException(ConfigReload.Stage stage, Exception cause) {
+        super(cause.getMessage(), cause);
+        this.stage = stage;
+        this.violations = List.of();
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Single-flight queue every configuration change goes through: watcher-triggered or manual
+ * reloads, and rollbacks to a retained version.
+ * <p>
+ * One reload runs at a time. A request joins the last waiting reload of the files, adding its
+ * sections, so a burst of watcher events and admin calls collapses into one more pass over the
+ * files. A forced (manual) request also joins a forced reload that is already running and shares
+ * its result, since that reload re-reads every file anyway. Rollbacks never join: each one waits
+ * its turn, and a file change requested after it queues behind it. Finished reloads are retained
+ * by ID for polling.
+ */
+@Slf4j
+final class ConfigReloadPipeline {
+
+    private static final int RETAINED_RELOADS = 32;
+
+    @FunctionalInterface
+    interface Worker {
+        Outcome reload(Set<ConfigSection> sections, boolean force) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface Rollback {
+        Outcome rollback(long version) throws Exception;
+    }
+
+    // Seções efetivamente publicadas e a versão resultante (a atual, quando nada mudou)
+    @Getter
+    @AllArgsConstructor
+    static final class Outcome {
+        private final Set<ConfigSection> changed;
+        private final long version;
+    }
+
+    private final Executor executor;
+    private final Worker worker;
+    private final Rollback rollback;
+    // Chamado a cada pedido absorvido por um reload já existente
+    private final Runnable onCoalesced;
+
+    private final Map<Long, ConfigReload> retained = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ConfigReload> eldest) {
+            return size() > RETAINED_RELOADS;
+        }
+    };
+    private long lastId;
+    private ConfigReload running;
+    // Reloads à espera, na ordem de chegada; dos arquivos, no máximo um seguido
+    private final Deque<ConfigReload> queued = new ArrayDeque<>();
+
+    ConfigReloadPipeline(Executor executor, Worker worker, Rollback rollback, Runnable onCoalesced) {
+        this.executor = executor;
+        this.worker = worker;
+        this.rollback = rollback;
+        this.onCoalesced = onCoalesced;
+    }
+
+    /**
+     * Reload covering {@code sections}: a running or waiting one this request joined, or a new one.
+     */
+    synchronized ConfigReload submit(Set<ConfigSection> sections, boolean force) {
+        // Ainda não começou a ler os arquivos, ou já relê todos eles
+        if (running != null && !running.isRollback() && queued.stream().noneMatch(ConfigReload::isRollback)
+                && (running.getStatus() == ConfigReload.Status.QUEUED || force && running.isForce())) {
+            running.join(sections, force);
+            onCoalesced.run();
+            return running;
+        }
+        // Atrás de um rollback, a mudança nos arquivos é posterior a ele e espera a vez
+        ConfigReload last = queued.peekLast();
+        if (last != null && !last.isRollback()) {
+            last.join(sections, force);
+            onCoalesced.run();
+            return last;
+        }
+        return enqueue(new ConfigReload(++lastId, sections, force, 0));
+    }
+
+    /**
+     * Rollback to a retained {@code version}, run in its turn after the reloads already queued.
+     */
+    synchronized ConfigReload submitRollback(long version) {
+        return enqueue(new ConfigReload(++lastId, EnumSet.noneOf(ConfigSection.class), false, version));
+    }
+
+    private ConfigReload enqueue(ConfigReload reload) {
+        retained.put(reload.getId(), reload);
+        queued.add(reload);
+        if (running == null) {
+            schedule();
+        }
+        return reload;
+    }
+
+    synchronized ConfigReload get(long id) {
+        return retained.get(id);
+    }
+
+    // Sob o lock: o próximo reload da fila passa a ser o corrente
+    private void schedule() {
+        while ((running = queued.poll()) != null) {
+            try {
+                executor.execute(this::drain);
+                return;
+            } catch (RejectedExecutionException e) {
+                running.fail(e);
+            }
+        }
+    }
+
+    private void drain() {
+        ConfigReload reload;
+        synchronized (this) {
+            reload = running;
+            reload.start();
+        }
+        Object target = reload.isRollback() ? "rollback para v" + reload.getRollbackTo() : reload.getSections();
+
+        try {
+            Outcome outcome = reload.isRollback()
+                    ? rollback.rollback(reload.getRollbackTo())
+                    : worker.reload(reload.getSections(), reload.isForce());
+            reload.complete(outcome.getChanged(), outcome.getVersion());
+        } catch (ConfigReloadException e) {
+            // Regras violadas já dizem tudo; nas demais etapas o stack trace ajuda
+            if (e.getStage() == ConfigReload.Stage.VALIDATE) {
+                log.error("❌ Reload de {} rejeitado: {}", target, e.getMessage());
+            } else {
+                log.error("❌ Reload de {} falhou na etapa {}: {}", target, e.getStage(), e.getMessage(), e);
+            }
+            reload.fail(e);
+        } catch (Exception e) {
+            log.error("❌ Erro ao recarregar {}: {}", target, e.getMessage(), e);
+            reload.fail(e);
+        } catch (Error e) {
+            // OOM, StackOverflowError de um JSON profundo...: quem espera é liberado e o erro segue adiante
+            log.error("❌ Erro fatal ao recarregar {}: {}", target, e.toString(), e);
+            reload.fail(e);
+            throw e;
+        } finally {
+            // Sempre: um reload que não termina prenderia todos os pedidos seguintes
+            synchronized (this) {
+                running = null;
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native-image hints for everything the configuration service binds with Jackson outside of
+ * controller signatures (which Spring AOT infers on its own): the four config models and their
+ * nested types (including their package-private setters), the persisted and clustered snapshot
+ * formats, and the push payloads. Also registers the bundled config files, read from the classpath
+ * when the config directory lacks them.
+ */
+class ConfigRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        for (ConfigSection section : ConfigSection.values()) {
+            // Percorre as propriedades: os tipos aninhados do Lombok entram junto
+            bindings.registerReflectionHints(hints.reflection(), section.getType());
+            registerSetters(hints, section.getType());
+        }
+        bindings.registerReflectionHints(hints.reflection(),
+                ConfigurationSnapshot.class,
+                ConfigSnapshotStore.Persisted.class,
+                ConfigCluster.Manifest.class,
+                AppConfigurationService.ConfigUpdateMessage.class,
+                ConfigHistory.VersionSummary.class,
+                ConfigReload.class);
+
+        for (ConfigSection section : ConfigSection.values()) {
+            hints.resources().registerPattern("config/" + section.getFileName());
+        }
+        hints.resources().registerPattern(ConfigSnapshotStore.BUNDLED_DEFAULTS);
+    }
+
+    // Os setters dos modelos são package-private e ficam fora das propriedades vistas pelo registrar
+    private static void registerSetters(RuntimeHints hints, Class<?> type) {
+        hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_METHODS);
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            registerSetters(hints, nested);
+        }
+    }
+}
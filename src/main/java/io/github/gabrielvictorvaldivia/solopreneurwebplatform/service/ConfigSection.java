@@ -0,0 +1,49 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.AppConfig;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.BusinessProfile;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The four configuration files, with the key used in payloads and the model they parse into.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ConfigSection {
+
+    APP("app", "app-config.json", AppConfig.class),
+    BUSINESS("business", "business-config.json", BusinessProfile.class),
+    UI("ui", "ui-config.json", UiConfig.class),
+    FEATURES("features", "feature-flags.json", FeatureFlags.class);
+
+    private final String key;
+    private final String fileName;
+    private final Class<?> type;
+
+    /**
+     * Section with the given payload key, or {@code null} if there is none.
+     */
+    public static ConfigSection fromKey(String key) {
+        for (ConfigSection section : values()) {
+            if (section.key.equals(key)) {
+                return section;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Section stored in the given file, or {@code null} if it is not a configuration file.
+     */
+    public static ConfigSection fromFileName(String fileName) {
+        for (ConfigSection section : values()) {
+            if (section.fileName.equals(fileName)) {
+                return section;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,281 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.AppConfig;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.BusinessProfile;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Last published snapshot persisted next to the config directory, so a restart can serve it
+ * before any JSON file is read.
+ * <p>
+ * The file is a fixed header (magic, format version, build fingerprint, payload length, CRC32C
+ * of the payload) followed by the four sections, the version and the content hashes of their
+ * files, encoded in Smile. It is replaced atomically on every publish; a file that is missing,
+ * truncated, of another format version or fails the checksum is ignored.
+ * <p>
+ * So is a file written by another build: the sections were bound and validated by that build's
+ * models, {@link ConfigValidator} and flag rules, and the content hashes would let unchanged
+ * files skip both after a deploy. The fingerprint is the hash of
+ * {@code META-INF/build-info.properties}; without it (a run outside the Maven build) nothing
+ * persisted is trusted.
+ */
+@Slf4j
+@Component
+public class ConfigSnapshotStore {
+
+    private static final int MAGIC = 0x43464753; // "CFGS"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 24;
+    private static final String BUILD_INFO = "META-INF/build-info.properties";
+    static final long UNKNOWN_BUILD = 0;
+
+    static final String BUNDLED_DEFAULTS = "config/defaults.snapshot";
+
+    private final ObjectMapper smile;
+    private final long build;
+    private final boolean enabled;
+    private final Path file;
+
+    // Versão já gravada: publicações fora de ordem nunca sobrescrevem uma mais nova
+    private long savedVersion;
+
+    @Autowired
+    public ConfigSnapshotStore(ConfigCodecs codecs,
+                               @Value("${app.config.snapshot.enabled:false}") boolean enabled,
+                               @Value("${app.config.snapshot.file:config.snapshot}") Path file) {
+        this(codecs, buildFingerprint(ConfigSnapshotStore.class.getClassLoader()), enabled, file);
+    }
+
+    ConfigSnapshotStore(ConfigCodecs codecs, long build, boolean enabled, Path file) {
+        this.smile = codecs.mapper(ConfigFormat.SMILE);
+        this.build = build;
+        this.enabled = enabled;
+        this.file = file;
+    }
+
+    /**
+     * Hash of the build-info generated by the Maven build, or {@link #UNKNOWN_BUILD} without one.
+     */
+    static long buildFingerprint(ClassLoader classLoader) {
+        ClassPathResource resource = new ClassPathResource(BUILD_INFO, classLoader);
+        if (!resource.exists()) {
+            return UNKNOWN_BUILD;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return XxHash64.hash(ByteBuffer.wrap(in.readAllBytes()));
+        } catch (IOException e) {
+            return UNKNOWN_BUILD;
+        }
+    }
+
+    /**
+     * Snapshot persisted by a previous run, or {@code null} if there is none or it is not valid.
+     * The result carries only the sections and their metadata; the derived bodies and indexes
+     * are built when it is published.
+     */
+    synchronized ConfigurationSnapshot load() {
+        if (!enabled) {
+            return null;
+        }
+
+        try {
+            ByteBuffer content;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                content = ByteBuffer.allocate((int) channel.size());
+                while (content.hasRemaining()) {
+                    if (channel.read(content) == -1) {
+                        break; // truncado: o checksum rejeita
+                    }
+                }
+                content.flip();
+            }
+
+            ConfigurationSnapshot restored = read(content, file.toAbsolutePath().toString());
+            if (restored == null) {
+                return null;
+            }
+
+            savedVersion = restored.getVersion();
+            return restored;
+
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Erro ao ler snapshot persistido {}: {}", file.toAbsolutePath(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Bundled defaults parsed and validated at build time by {@link BundledDefaultsAotProcessor},
+     * or {@code null} outside AOT-processed builds. Independent of {@code app.config.snapshot.enabled}.
+     */
+    ConfigurationSnapshot loadBundled() {
+        ClassPathResource resource = new ClassPathResource(BUNDLED_DEFAULTS);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return read(ByteBuffer.wrap(in.readAllBytes()), BUNDLED_DEFAULTS);
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Erro ao ler {}: {}", BUNDLED_DEFAULTS, e.getMessage());
+            return null;
+        }
+    }
+
+    private ConfigurationSnapshot read(ByteBuffer content, String origin) throws IOException {
+        Persisted persisted = decode(content, origin);
+        if (persisted == null) {
+            return null;
+        }
+        if (persisted.getContentHashes() == null
+                || persisted.getContentHashes().length != ConfigSection.values().length) {
+            log.warn("⚠️ Snapshot em {} inválido; ignorado", origin);
+            return null;
+        }
+
+        Map<ConfigSection, Object> sections = new EnumMap<>(ConfigSection.class);
+        sections.put(ConfigSection.APP, persisted.getApp());
+        sections.put(ConfigSection.BUSINESS, persisted.getBusiness());
+        sections.put(ConfigSection.UI, persisted.getUi());
+        sections.put(ConfigSection.FEATURES, persisted.getFeatures());
+        ConfigurationSnapshot restored = ConfigurationSnapshot.of(persisted.getVersion(),
+                Instant.ofEpochMilli(persisted.getLoadedAt()), sections, persisted.getContentHashes());
+        if (!restored.isComplete()) {
+            log.warn("⚠️ Snapshot em {} incompleto; ignorado", origin);
+            return null;
+        }
+        return restored;
+    }
+
+    /**
+     * Persists a published snapshot, unless a newer version has already been written.
+     */
+    synchronized void save(ConfigurationSnapshot snapshot) {
+        if (!enabled || !snapshot.isComplete() || snapshot.getVersion() <= savedVersion) {
+            return;
+        }
+
+        try {
+            ByteBuffer content = encode(snapshot);
+
+            // Arquivo temporário no mesmo diretório e rename: quem lê nunca vê um snapshot pela metade
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    while (content.hasRemaining()) {
+                        channel.write(content);
+                    }
+                    channel.force(false);
+                }
+                move(temp);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            savedVersion = snapshot.getVersion();
+            log.debug("💾 Snapshot v{} persistido em {}", snapshot.getVersion(), file.toAbsolutePath());
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Erro ao persistir snapshot v{}: {}", snapshot.getVersion(), e.getMessage());
+        }
+    }
+
+    // Cabeçalho e payload Smile; também usado no build para gerar os padrões embutidos
+    ByteBuffer encode(ConfigurationSnapshot snapshot) throws IOException {
+        long[] hashes = new long[ConfigSection.values().length];
+        for (ConfigSection section : ConfigSection.values()) {
+            hashes[section.ordinal()] = snapshot.getContentHash(section);
+        }
+        byte[] payload = smile.writeValueAsBytes(new Persisted(snapshot.getVersion(),
+                snapshot.getLoadedAt().toEpochMilli(), hashes, snapshot.getAppConfig(),
+                snapshot.getBusinessProfile(), snapshot.getUiConfig(), snapshot.getFeatureFlags()));
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(build)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+    }
+
+    private void move(Path temp) throws IOException {
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Cabeçalho e checksum conferidos antes de o payload chegar ao Jackson
+    private Persisted decode(ByteBuffer content, String origin) throws IOException {
+        if (content.remaining() < HEADER_SIZE || content.getInt() != MAGIC || content.getInt() != FORMAT_VERSION) {
+            log.warn("⚠️ Snapshot em {} inválido; ignorado", origin);
+            return null;
+        }
+        long writtenBy = content.getLong();
+        if (build == UNKNOWN_BUILD || writtenBy != build) {
+            log.info("🔁 Snapshot em {} gravado por outro build; ignorado", origin);
+            return null;
+        }
+        int length = content.getInt();
+        int checksum = content.getInt();
+        if (length != content.remaining()) {
+            log.warn("⚠️ Snapshot em {} inválido; ignorado", origin);
+            return null;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(content.array(), content.arrayOffset() + content.position(), length);
+        if ((int) crc.getValue() != checksum) {
+            log.warn("⚠️ Snapshot em {} inválido; ignorado", origin);
+            return null;
+        }
+        return smile.readValue(content.array(), content.arrayOffset() + content.position(), length, Persisted.class);
+    }
+
+    // Conteúdo gravado: as quatro seções da geração e os metadados para revalidá-la
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Persisted {
+        private long version;
+        private long loadedAt;
+        private long[] contentHashes;
+        private AppConfig app;
+        private BusinessProfile business;
+        private UiConfig ui;
+        private FeatureFlags features;
+    }
+}
@@ -0,0 +1,343 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Config update destinations and their slow-consumer protection on the client outbound channel.
+ * <p>
+ * Updates go to {@code /topic/config-updates} as JSON, and to {@code /topic/config-updates.cbor}
+ * and {@code /topic/config-updates.smile} pre-encoded in those formats. Spring only sends binary
+ * WebSocket frames for {@code application/octet-stream}, so binary updates carry that
+ * {@code content-type} and name their format in a {@code config-content-type} header. Binary
+ * destinations need a native WebSocket: SockJS transports are text-only. Tenant configurations
+ * are published the same way under {@code /topic/tenants/{tenant}/config-updates}.
+ * <p>
+ * Each STOMP session has at most one config update in flight per destination. Updates that arrive while the
+ * previous one is still being written are conflated into a single held message; when the write
+ * finishes, the session receives one patch from the last version it got to the latest version.
+ * RFC 6902 patches applied in sequence are equivalent to their concatenation, so the merged
+ * patch keeps the client's {@code baseVersion} chain intact. Merged payloads are serialized once
+ * per format and version range, and shared by every session that fell behind by the same range.
+ * Tenant updates have no patch log: a session that fell behind gets the latest patch as is, and
+ * its {@code baseVersion} tells the client to fetch the tenant's {@code /current} again.
+ * <p>
+ * A session whose in-flight write exceeds the send time limit is closed with
+ * {@link CloseStatus#SESSION_NOT_RELIABLE}, like Spring does when its send buffer overflows.
+ */
+@Slf4j
+@Component
+public class ConfigUpdateConflater implements ExecutorChannelInterceptor {
+
+    public static final String DESTINATION = "/topic/config-updates";
+    public static final String TENANT_DESTINATION_PREFIX = "/topic/tenants/";
+    static final String VERSION_HEADER = "configVersion";
+    static final String BASE_VERSION_HEADER = "configBaseVersion";
+    static final String FORMAT_HEADER = "configFormat";
+    static final String CONTENT_TYPE_HEADER = "config-content-type";
+
+    private static final int MERGED_CACHE_SIZE = 16;
+
+    private final ConfigPatchLog patchLog;
+    private final ConfigCodecs codecs;
+    private final ConfigMetrics configMetrics;
+    private final boolean enabled;
+    private final long sendTimeLimitMillis;
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    // Bytes de atualizações aguardando envio: na fila do canal ou retidas por sessão
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final Map<String, byte[]> merged = new LinkedHashMap<>(MERGED_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > MERGED_CACHE_SIZE;
+        }
+    };
+
+    public ConfigUpdateConflater(ConfigPatchLog patchLog, ConfigCodecs codecs, ConfigMetrics configMetrics,
+                                 @Value("${app.websocket.conflation.enabled:true}") boolean enabled,
+                                 @Value("${app.websocket.send-time-limit:10s}") Duration sendTimeLimit) {
+        this.patchLog = patchLog;
+        this.codecs = codecs;
+        this.configMetrics = configMetrics;
+        this.enabled = enabled;
+        this.sendTimeLimitMillis = sendTimeLimit.toMillis();
+
+        configMetrics.bindStompQueuedBytes(queuedBytes);
+    }
+
+    static String destination(ConfigFormat format) {
+        return DESTINATION + format.getDestinationSuffix();
+    }
+
+    static String destination(String tenant, ConfigFormat format) {
+        return TENANT_DESTINATION_PREFIX + tenant + "/config-updates" + format.getDestinationSuffix();
+    }
+
+    /**
+     * Update message for one format. The version headers are internal: they drive conflation
+     * and are not sent to clients.
+     */
+    static Message<byte[]> updateMessage(ConfigFormat format, byte[] payload, long baseVersion, long version) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setContentType(format.isBinary() ? MimeTypeUtils.APPLICATION_OCTET_STREAM : MimeTypeUtils.APPLICATION_JSON);
+        headers.setNativeHeader(CONTENT_TYPE_HEADER, format.getMediaType().toString());
+        headers.setHeader(FORMAT_HEADER, format);
+        headers.setHeader(BASE_VERSION_HEADER, baseVersion);
+        headers.setHeader(VERSION_HEADER, version);
+        return MessageBuilder.createMessage(payload, headers.getMessageHeaders());
+    }
+
+    /**
+     * Wraps the STOMP WebSocket handler to track sessions and count the ones dropped as unreliable.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), new SessionState(session));
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                SessionState state = sessions.remove(session.getId());
+                if (state != null) {
+                    state.release();
+                }
+                if (CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+                    configMetrics.stompSessionDropped();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (isConfigUpdate(message)) {
+            queuedBytes.addAndGet(size(message));
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (!isConfigUpdate(message)) {
+            return message;
+        }
+        queuedBytes.addAndGet(-size(message));
+
+        SessionState state = sessions.get(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        if (!enabled || state == null) {
+            return message;
+        }
+        return state.begin(message);
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (!enabled || !isConfigUpdate(message)) {
+            return;
+        }
+
+        SessionState state = sessions.get(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        if (state == null) {
+            return;
+        }
+        Message<?> next = state.finish(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+        if (next != null) {
+            channel.send(next);
+        }
+    }
+
+    private static boolean isConfigUpdate(Message<?> message) {
+        return message.getHeaders().containsKey(VERSION_HEADER)
+                && SimpMessageHeaderAccessor.getSessionId(message.getHeaders()) != null;
+    }
+
+    private static long version(Message<?> message, String header) {
+        return (Long) message.getHeaders().get(header);
+    }
+
+    private static ConfigFormat format(Message<?> message) {
+        Object format = message.getHeaders().get(FORMAT_HEADER);
+        return format == null ? ConfigFormat.JSON : (ConfigFormat) format;
+    }
+
+    private static int size(Message<?> message) {
+        return message.getPayload() instanceof byte[] bytes ? bytes.length : 0;
+    }
+
+    // Um único patch de "from" até "to", a partir da cadeia do log, no formato da mensagem
+    private Message<?> merge(long from, Message<?> latest) {
+        String destination = SimpMessageHeaderAccessor.getDestination(latest.getHeaders());
+        if (destination == null || !destination.startsWith(DESTINATION)) {
+            // O log só guarda a cadeia global; tenants recebem o último delta e detectam a lacuna
+            return latest;
+        }
+
+        long to = version(latest, VERSION_HEADER);
+        ConfigFormat format = format(latest);
+        String key = format + ":" + from + ":" + to;
+
+        byte[] payload;
+        synchronized (merged) {
+            payload = merged.get(key);
+        }
+        if (payload == null) {
+            List<ConfigPatchLog.Entry> chain = patchLog.chainSince(from, to);
+            if (chain == null || chain.isEmpty()) {
+                // Cadeia já descartada: o cliente detecta a lacuna e busca /current
+                return latest;
+            }
+            try {
+                payload = codecs.mapper(format).writeValueAsBytes(concatenate(from, to, chain));
+            } catch (IOException e) {
+                log.warn("⚠️ Falha ao combinar deltas v{} → v{}: {}", from, to, e.getMessage());
+                return latest;
+            }
+            synchronized (merged) {
+                merged.put(key, payload);
+            }
+        }
+
+        return MessageBuilder.withPayload(payload)
+                .copyHeaders(latest.getHeaders())
+                .setHeader(BASE_VERSION_HEADER, from)
+                .build();
+    }
+
+    // O log guarda os deltas em JSON, qualquer que seja o formato de saída
+    private ObjectNode concatenate(long from, long to, List<ConfigPatchLog.Entry> chain) throws IOException {
+        ObjectMapper objectMapper = codecs.mapper(ConfigFormat.JSON);
+        ArrayNode patch = objectMapper.createArrayNode();
+        String type = null;
+        long timestamp = 0;
+        for (ConfigPatchLog.Entry entry : chain) {
+            JsonNode message = objectMapper.readTree(entry.getPayload());
+            patch.addAll((ArrayNode) message.get("patch"));
+            String entryType = message.get("type").asText();
+            type = type == null || type.equals(entryType) ? entryType : "all";
+            timestamp = message.get("timestamp").asLong();
+        }
+
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", type);
+        node.put("baseVersion", from);
+        node.put("version", to);
+        node.set("patch", patch);
+        node.put("timestamp", timestamp);
+        return node;
+    }
+
+    private final class SessionState {
+        private final WebSocketSession session;
+        // Uma fila de um elemento por destino: a sessão pode assinar mais de um formato ou tenant
+        private final Map<String, Lane> lanes = new HashMap<>();
+
+        private SessionState(WebSocketSession session) {
+            this.session = session;
+        }
+
+        // Mensagem a entregar agora, ou null quando ela foi retida ou descartada
+        synchronized Message<?> begin(Message<?> message) {
+            Lane lane = lanes.computeIfAbsent(SimpMessageHeaderAccessor.getDestination(message.getHeaders()),
+                    destination -> new Lane());
+
+            long version = version(message, VERSION_HEADER);
+            if (version <= lane.delivered) {
+                return null;
+            }
+
+            if (lane.inFlight) {
+                if (System.currentTimeMillis() - lane.inFlightSince > sendTimeLimitMillis) {
+                    drop();
+                    return null;
+                }
+                if (lane.held != null) {
+                    queuedBytes.addAndGet(-size(lane.held));
+                    configMetrics.stompMessageConflated();
+                }
+                lane.held = message;
+                queuedBytes.addAndGet(size(message));
+                return null;
+            }
+
+            if (lane.delivered != 0 && version(message, BASE_VERSION_HEADER) != lane.delivered) {
+                message = merge(lane.delivered, message);
+            }
+            lane.delivered = version;
+            lane.inFlight = true;
+            lane.inFlightSince = System.currentTimeMillis();
+            return message;
+        }
+
+        // Próxima mensagem retida, já que a escrita anterior terminou
+        synchronized Message<?> finish(String destination) {
+            Lane lane = lanes.get(destination);
+            if (lane == null) {
+                return null;
+            }
+            lane.inFlight = false;
+            Message<?> next = lane.held;
+            lane.held = null;
+            if (next != null) {
+                queuedBytes.addAndGet(-size(next));
+            }
+            return next;
+        }
+
+        synchronized void release() {
+            for (Lane lane : lanes.values()) {
+                if (lane.held != null) {
+                    queuedBytes.addAndGet(-size(lane.held));
+                    lane.held = null;
+                }
+            }
+        }
+
+        private void drop() {
+            log.warn("⚠️ Sessão STOMP {} excedeu o tempo de envio; encerrando", session.getId());
+            release();
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Erro ao encerrar sessão STOMP {}: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private static final class Lane {
+        private long delivered;
+        private boolean inFlight;
+        private long inFlightSince;
+        private Message<?> held;
+    }
+}
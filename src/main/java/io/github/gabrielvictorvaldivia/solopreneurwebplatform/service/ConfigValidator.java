@@ -0,0 +1,144 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.AppConfig;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.BusinessProfile;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Semantic checks every parsed section passes before it can be published. Jackson only
+ * guarantees the shape of a file; these rules reject values that parse fine but misbehave on
+ * clients, such as a dashboard refreshing every second or a colour the UI cannot render.
+ */
+final class ConfigValidator {
+
+    // Intervalo do auto refresh do dashboard, em segundos
+    static final int MIN_AUTO_REFRESH = 30;
+    static final int MAX_AUTO_REFRESH = 3600;
+    // Temas com folha de estilo no front-end
+    static final Set<String> KNOWN_THEMES = Set.of("light", "dark", "auto", "high-contrast");
+
+    private static final Pattern COLOR = Pattern.compile("#(?:\\p{XDigit}{3}|\\p{XDigit}{6}|\\p{XDigit}{8})");
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    private ConfigValidator() {
+    }
+
+    /**
+     * @throws ConfigReloadException listing every violation found in the section
+     */
+    static void validate(ConfigSection section, Object config) throws ConfigReloadException {
+        List<String> violations = new ArrayList<>();
+        if (config == null) {
+            violations.add("documento vazio");
+        } else {
+            switch (section) {
+                case APP -> validateApp((AppConfig) config, violations);
+                case BUSINESS -> validateBusiness((BusinessProfile) config, violations);
+                case UI -> validateUi((UiConfig) config, violations);
+                case FEATURES -> validateFeatures((FeatureFlags) config, violations);
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            throw new ConfigReloadException(ConfigReload.Stage.VALIDATE,
+                    section.getFileName() + " inválido: " + String.join("; ", violations), violations);
+        }
+    }
+
+    private static void validateApp(AppConfig config, List<String> violations) {
+        AppConfig.Dashboard dashboard = config.getFeatures() == null ? null : config.getFeatures().getDashboard();
+        if (dashboard != null
+                && (dashboard.getAutoRefresh() < MIN_AUTO_REFRESH || dashboard.getAutoRefresh() > MAX_AUTO_REFRESH)) {
+            violations.add(String.format("features.dashboard.autoRefresh: %d fora do intervalo [%d, %d] segundos",
+                    dashboard.getAutoRefresh(), MIN_AUTO_REFRESH, MAX_AUTO_REFRESH));
+        }
+    }
+
+    private static void validateBusiness(BusinessProfile config, List<String> violations) {
+        BusinessProfile.Primary primary = config.getContacts() == null ? null : config.getContacts().getPrimary();
+        if (primary != null && primary.getEmail() != null && !EMAIL.matcher(primary.getEmail()).matches()) {
+            violations.add("contacts.primary.email: e-mail inválido '" + primary.getEmail() + "'");
+        }
+    }
+
+    private static void validateUi(UiConfig config, List<String> violations) {
+        UiConfig.Branding branding = config.getBranding();
+        if (branding != null) {
+            checkColor("branding.primaryColor", branding.getPrimaryColor(), violations);
+            checkColor("branding.secondaryColor", branding.getSecondaryColor(), violations);
+        }
+
+        UiConfig.Themes themes = config.getThemes();
+        if (themes == null) {
+            return;
+        }
+        List<String> available = themes.getAvailable();
+        if (available == null || available.isEmpty()) {
+            violations.add("themes.available: ao menos um tema é obrigatório");
+            return;
+        }
+        for (String theme : available) {
+            if (!KNOWN_THEMES.contains(theme)) {
+                violations.add("themes.available: tema desconhecido '" + theme + "'");
+            }
+        }
+        if (themes.getDefaultTheme() != null && !available.contains(themes.getDefaultTheme())) {
+            violations.add("themes.default: '" + themes.getDefaultTheme() + "' não está em themes.available");
+        }
+        UiConfig.Preferences preferences = config.getPreferences();
+        if (preferences != null && preferences.getTheme() != null && !available.contains(preferences.getTheme())) {
+            violations.add("preferences.theme: '" + preferences.getTheme() + "' não está em themes.available");
+        }
+    }
+
+    private static void validateFeatures(FeatureFlags config, List<String> violations) {
+        if (config.getRules() == null) {
+            return;
+        }
+        for (Map.Entry<String, FeatureFlags.Rule> entry : config.getRules().entrySet()) {
+            String path = "rules." + entry.getKey();
+            FeatureFlags.Rule rule = entry.getValue();
+            if (rule == null) {
+                violations.add(path + ": regra nula");
+                continue;
+            }
+            Double percentage = rule.getPercentage();
+            if (percentage != null && !(percentage >= 0 && percentage <= 100)) {
+                violations.add(path + ".percentage: " + percentage + " fora do intervalo [0, 100]");
+            }
+            checkValues(path + ".allow", rule.getAllow(), violations);
+            checkValues(path + ".deny", rule.getDeny(), violations);
+            if (rule.getAttributes() != null) {
+                for (Map.Entry<String, List<String>> attribute : rule.getAttributes().entrySet()) {
+                    String attributePath = path + ".attributes." + attribute.getKey();
+                    if (attribute.getValue() == null) {
+                        violations.add(attributePath + ": lista de valores nula");
+                    } else {
+                        checkValues(attributePath, attribute.getValue(), violations);
+                    }
+                }
+            }
+        }
+    }
+
+    // Listas ausentes valem como vazias; um elemento nulo quebraria a compilação das regras
+    private static void checkValues(String path, List<String> values, List<String> violations) {
+        if (values != null && values.contains(null)) {
+            violations.add(path + ": valor nulo na lista");
+        }
+    }
+
+    // Ausente é permitido (o front-end usa o padrão); presente precisa ser #RGB, #RRGGBB ou #RRGGBBAA
+    private static void checkColor(String path, String color, List<String> violations) {
+        if (color != null && !COLOR.matcher(color).matches()) {
+            violations.add(path + ": cor inválida '" + color + "'");
+        }
+    }
+}
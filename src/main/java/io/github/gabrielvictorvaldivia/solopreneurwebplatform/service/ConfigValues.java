@@ -0,0 +1,133 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Leaf values of one generation by dotted path ({@code ui.branding.primaryColor}), flattened once
+ * when the snapshot is compiled so a read is a single hash lookup. Values are {@code String},
+ * {@code Boolean}, {@code Integer}, {@code Long}, {@code Double}, or an unmodifiable {@code List}
+ * for arrays; null and missing values are absent.
+ */
+public final class ConfigValues {
+
+    static final ConfigValues EMPTY = new ConfigValues(new ArrayList<>(Collections.nCopies(
+            ConfigSection.values().length, Map.of())));
+
+    // Valores de cada seção, reaproveitados entre gerações quando o objeto da seção não mudou
+    private final List<Map<String, Object>> sections;
+    private final Map<String, Object> values;
+
+    private ConfigValues(List<Map<String, Object>> sections) {
+        this.sections = sections;
+        Map<String, Object> merged = new HashMap<>();
+        sections.forEach(merged::putAll);
+        this.values = Collections.unmodifiableMap(merged);
+    }
+
+    static ConfigValues of(ConfigurationSnapshot snapshot, ObjectMapper objectMapper,
+                           ConfigurationSnapshot... sources) {
+        List<Map<String, Object>> sections = new ArrayList<>(ConfigSection.values().length);
+        for (ConfigSection section : ConfigSection.values()) {
+            Map<String, Object> reused = null;
+            for (ConfigurationSnapshot source : sources) {
+                if (source != null && source.getValues() != null && source.get(section) == snapshot.get(section)) {
+                    reused = source.getValues().sections.get(section.ordinal());
+                    break;
+                }
+            }
+            sections.add(reused != null ? reused : flatten(section, snapshot.get(section), objectMapper));
+        }
+        return new ConfigValues(sections);
+    }
+
+    private static Map<String, Object> flatten(ConfigSection section, Object config, ObjectMapper objectMapper) {
+        Map<String, Object> leaves = new HashMap<>();
+        if (config != null) {
+            flatten(section.getKey(), objectMapper.valueToTree(config), leaves, objectMapper);
+        }
+        return Collections.unmodifiableMap(leaves);
+    }
+
+    private static void flatten(String path, JsonNode node, Map<String, Object> leaves, ObjectMapper objectMapper) {
+        if (node.isObject()) {
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                flatten(path + "." + field.getKey(), field.getValue(), leaves, objectMapper);
+            }
+        } else if (node.isArray()) {
+            // Arrays são folhas: listas de valores simples, mapas ou listas
+            leaves.put(path, Collections.unmodifiableList(objectMapper.convertValue(node, List.class)));
+        } else {
+            Object value = leaf(node);
+            if (value != null) {
+                leaves.put(path, value);
+            }
+        }
+    }
+
+    private static Object leaf(JsonNode node) {
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isInt()) {
+            return node.intValue();
+        }
+        if (node.isIntegralNumber()) {
+            return node.longValue();
+        }
+        if (node.isNumber()) {
+            return node.doubleValue();
+        }
+        return null;
+    }
+
+    /**
+     * Value at {@code path}, or {@code null} if there is none.
+     */
+    public Object get(String path) {
+        return values.get(path);
+    }
+
+    public Map<String, Object> asMap() {
+        return values;
+    }
+
+    /**
+     * Paths whose value differs between two generations. Sections sharing the same object are skipped.
+     */
+    static Set<String> changedPaths(ConfigValues previous, ConfigValues current) {
+        Set<String> changed = new HashSet<>();
+        for (int i = 0; i < current.sections.size(); i++) {
+            Map<String, Object> before = previous.sections.get(i);
+            Map<String, Object> after = current.sections.get(i);
+            if (before == after) {
+                continue;
+            }
+            after.forEach((path, value) -> {
+                if (!Objects.equals(before.get(path), value)) {
+                    changed.add(path);
+                }
+            });
+            for (String path : before.keySet()) {
+                if (!after.containsKey(path)) {
+                    changed.add(path);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(changed);
+    }
+}
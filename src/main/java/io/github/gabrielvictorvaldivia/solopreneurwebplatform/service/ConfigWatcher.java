@@ -0,0 +1,169 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches the config directory and hands the changed sections to a reload callback, debounced:
+ * each event postpones the reload until the quiet period ends, and every section touched in the
+ * meantime goes into the same batch. Falls back to polling every file when the watch service
+ * cannot start; unchanged files are then skipped by their content hash.
+ */
+@Slf4j
+@Component
+class ConfigWatcher {
+
+    private final ConfigMetrics configMetrics;
+    // Timers do debounce e o próprio loop de observação (ver AsyncConfig.configScheduler)
+    private final ScheduledExecutorService scheduler;
+    private final Path configDir;
+    // Período de silêncio antes de recarregar arquivos alterados
+    private final Duration quietPeriod;
+
+    private final Set<ConfigSection> pendingSections = EnumSet.noneOf(ConfigSection.class);
+    private ScheduledFuture<?> pendingReload;
+
+    private WatchService watchService;
+    private Consumer<Set<ConfigSection>> reload;
+
+    ConfigWatcher(ConfigMetrics configMetrics, ScheduledExecutorService scheduler,
+                  @Value("${app.config.dir:config}") Path configDir,
+                  @Value("${app.config.watch.quiet-period:500ms}") Duration quietPeriod) {
+        this.configMetrics = configMetrics;
+        this.scheduler = scheduler;
+        this.configDir = configDir;
+        this.quietPeriod = quietPeriod;
+    }
+
+    void start(Consumer<Set<ConfigSection>> reload) {
+        this.reload = reload;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+
+            // Registrar diretório config para monitoramento (o mesmo de onde os arquivos são lidos)
+            if (Files.isDirectory(configDir)) {
+                // DELETE: sem o arquivo externo, a seção volta para a cópia do classpath
+                configDir.register(watchService,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+
+                log.info("👁️ Monitorando alterações em: {}", configDir.toAbsolutePath());
+
+                // Executar em thread separada
+                scheduler.execute(this::watchForChanges);
+            } else {
+                // Cópias do classpath não mudam em execução: nada a observar
+                watchService.close();
+                log.info("📦 Diretório {} não encontrado; usando as configurações do classpath",
+                        configDir.toAbsolutePath());
+            }
+
+        } catch (IOException e) {
+            log.error("❌ Erro ao iniciar file watcher: {}", e.getMessage(), e);
+            // Fallback: verificação periódica
+            scheduler.scheduleAtFixedRate(this::checkForChangesPolling, 5, 5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void watchForChanges() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take(); // Bloqueia até haver mudança
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    WatchEvent.Kind<?> kind = event.kind();
+
+                    if (kind == StandardWatchEventKinds.OVERFLOW) {
+                        continue;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    WatchEvent<Path> ev = (WatchEvent<Path>) event;
+                    Path filename = ev.context();
+
+                    String fileName = filename.toString();
+                    log.debug("🔔 Arquivo modificado: {}", fileName);
+
+                    // Processar apenas arquivos JSON de configuração
+                    ConfigSection section = ConfigSection.fromFileName(fileName);
+                    if (section != null) {
+                        configMetrics.watchEvent();
+                        scheduleReload(section);
+                    }
+                }
+
+                boolean valid = key.reset();
+                if (!valid) {
+                    log.warn("⚠️ WatchKey não é mais válido, reiniciando monitoramento...");
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            log.info("📴 File watcher interrompido");
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("❌ Erro no file watcher: {}", e.getMessage(), e);
+        }
+    }
+
+    // Debounce: cada evento adia a recarga até o período de silêncio terminar
+    private void scheduleReload(ConfigSection section) {
+        synchronized (pendingSections) {
+            if (!pendingSections.add(section)) {
+                configMetrics.coalescedEvent();
+            }
+
+            if (pendingReload != null) {
+                pendingReload.cancel(false);
+            }
+            pendingReload = scheduler.schedule(this::reloadPending, quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void reloadPending() {
+        Set<ConfigSection> sections;
+        synchronized (pendingSections) {
+            sections = EnumSet.copyOf(pendingSections);
+            pendingSections.clear();
+            pendingReload = null;
+        }
+
+        if (!sections.isEmpty()) {
+            reload.accept(sections);
+        }
+    }
+
+    // Verificação periódica por conteúdo: arquivos com o mesmo hash são ignorados no reload
+    private void checkForChangesPolling() {
+        try {
+            reload.accept(EnumSet.allOf(ConfigSection.class));
+        } catch (Exception e) {
+            log.error("❌ Erro na verificação periódica: {}", e.getMessage(), e);
+        }
+    }
+
+    void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.AppConfig;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.BusinessProfile;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable generation of all configurations.
+ * <p>
+ * {@link AppConfigurationService} publishes a new instance on every reload through a single
+ * atomic reference, so readers always see the four configs of one generation together.
+ * The model objects are never mutated after being published, and everything derived from them
+ * (such as the pre-serialized {@code /api/config/current} body) is computed once before the swap.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConfigurationSnapshot {
+
+    static final ConfigurationSnapshot EMPTY = new ConfigurationSnapshot(0L, Instant.EPOCH, null, null, null, null,
+            new long[ConfigSection.values().length], null, null, ConfigValues.EMPTY, FeatureFlagIndex.EMPTY, FeatureFlagRules.EMPTY, FeatureFlagVectors.EMPTY);
+
+    private final long version;
+    private final Instant loadedAt;
+    private final AppConfig appConfig;
+    private final BusinessProfile businessProfile;
+    private final UiConfig uiConfig;
+    private final FeatureFlags featureFlags;
+
+    // Fingerprint (XXH64) do conteúdo de cada arquivo, indexado por ConfigSection.ordinal()
+    @Getter(AccessLevel.NONE)
+    private final long[] contentHashes;
+
+    // Corpo de /api/config/current serializado na publicação
+    @JsonIgnore
+    private final SerializedConfig currentJson;
+
+    // Corpo de /api/config/{section} por ConfigSection.ordinal(); reaproveitado enquanto a seção não muda
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final SerializedSection[] sections;
+
+    // Valores por caminho, lidos pelo ConfigClient
+    @JsonIgnore
+    private final ConfigValues values;
+
+    // Flags compiladas uma vez por reload
+    @JsonIgnore
+    private final FeatureFlagIndex flagIndex;
+
+    // Regras de targeting compiladas sobre o índice
+    @JsonIgnore
+    private final FeatureFlagRules flagRules;
+
+    // Respostas em lote das flags, serializadas junto com o índice
+    @JsonIgnore
+    private final FeatureFlagVectors flagVectors;
+
+    @JsonIgnore
+    public boolean isComplete() {
+        return appConfig != null && businessProfile != null &&
+                uiConfig != null && featureFlags != null;
+    }
+
+    // Próxima geração substituindo apenas as seções alteradas; versão sempre crescente
+    ConfigurationSnapshot next(Map<ConfigSection, Object> changes, Map<ConfigSection, Long> hashes) {
+        return next(changes, hashes, version + 1);
+    }
+
+    // Em modo cluster, a versão é o número da geração acordada entre os nós
+    ConfigurationSnapshot next(Map<ConfigSection, Object> changes, Map<ConfigSection, Long> hashes, long nextVersion) {
+        long[] nextHashes = contentHashes.clone();
+        hashes.forEach((section, hash) -> nextHashes[section.ordinal()] = hash);
+
+        return new ConfigurationSnapshot(nextVersion, Instant.now(),
+                (AppConfig) changes.getOrDefault(ConfigSection.APP, appConfig),
+                (BusinessProfile) changes.getOrDefault(ConfigSection.BUSINESS, businessProfile),
+                (UiConfig) changes.getOrDefault(ConfigSection.UI, uiConfig),
+                (FeatureFlags) changes.getOrDefault(ConfigSection.FEATURES, featureFlags),
+                nextHashes, null, null, null, null, null, null);
+    }
+
+    // Geração montada fora do ciclo de reload: snapshot persistido ou configuração de um tenant
+    static ConfigurationSnapshot of(long version, Instant loadedAt, Map<ConfigSection, Object> sections,
+                                          long[] contentHashes) {
+        return new ConfigurationSnapshot(version, loadedAt,
+                (AppConfig) sections.get(ConfigSection.APP),
+                (BusinessProfile) sections.get(ConfigSection.BUSINESS),
+                (UiConfig) sections.get(ConfigSection.UI),
+                (FeatureFlags) sections.get(ConfigSection.FEATURES),
+                contentHashes.clone(), null, null, null, null, null, null);
+    }
+
+    /**
+     * This generation with its serialized bodies, flattened values and flag indexes. Sections and flags whose
+     * objects are unchanged in one of {@code sources} reuse what was built there, ETags included.
+     */
+    ConfigurationSnapshot assemble(ConfigCodecs codecs, ObjectMapper objectMapper,
+                                   ConfigurationSnapshot... sources) throws JsonProcessingException {
+        SerializedConfig currentJson = codecs.serialize(toDocument());
+
+        SerializedSection[] serialized = new SerializedSection[ConfigSection.values().length];
+        for (ConfigSection section : ConfigSection.values()) {
+            SerializedSection previous = null;
+            for (ConfigurationSnapshot source : sources) {
+                if (source != null && source.get(section) == get(section) && source.getSection(section) != null) {
+                    previous = source.getSection(section);
+                    break;
+                }
+            }
+            serialized[section.ordinal()] = SerializedSection.of(get(section), previous, codecs);
+        }
+
+        ConfigValues values = ConfigValues.of(this, objectMapper, sources);
+
+        // Recompila o índice apenas quando as flags mudaram
+        for (ConfigurationSnapshot source : sources) {
+            if (source != null && source.featureFlags == featureFlags) {
+                return new ConfigurationSnapshot(version, loadedAt, appConfig, businessProfile, uiConfig, featureFlags,
+                        contentHashes, currentJson, serialized, values, source.flagIndex, source.flagRules,
+                        source.flagVectors);
+            }
+        }
+        FeatureFlagIndex index = FeatureFlagIndex.compile(featureFlags, objectMapper);
+        return new ConfigurationSnapshot(version, loadedAt, appConfig, businessProfile, uiConfig, featureFlags,
+                contentHashes, currentJson, serialized, values, index, FeatureFlagRules.compile(featureFlags, index),
+                FeatureFlagVectors.of(index, codecs));
+    }
+
+    /**
+     * The {@code /api/config/current} document: every section under its key.
+     */
+    public Map<String, Object> toDocument() {
+        Map<String, Object> document = new LinkedHashMap<>();
+        for (ConfigSection section : ConfigSection.values()) {
+            document.put(section.getKey(), get(section));
+        }
+        return document;
+    }
+
+    public long getContentHash(ConfigSection section) {
+        return contentHashes[section.ordinal()];
+    }
+
+    /**
+     * Pre-serialized body of one section, or {@code null} while nothing has been loaded yet.
+     */
+    public SerializedSection getSection(ConfigSection section) {
+        return sections == null ? null : sections[section.ordinal()];
+    }
+
+    public Object get(ConfigSection section) {
+        return switch (section) {
+            case APP -> appConfig;
+            case BUSINESS -> businessProfile;
+            case UI -> uiConfig;
+            case FEATURES -> featureFlags;
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content codings a pre-serialized body is stored in. Compression runs once per snapshot, so
+ * both codings use their highest level. Brotli needs the brotli4j native library; on platforms
+ * without it, only gzip is produced.
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public enum ContentCoding {
+
+    // Ordem de preferência quando o cliente aceita mais de uma com a mesma qualidade
+    BROTLI("br"),
+    GZIP("gzip"),
+    IDENTITY("identity");
+
+    private final String token;
+
+    /**
+     * Compressed form of {@code body}, or {@code null} for identity and for codings that are not available.
+     */
+    byte[] encode(byte[] body) {
+        return switch (this) {
+            case BROTLI -> BrotliSupport.AVAILABLE ? BrotliSupport.compress(body) : null;
+            case GZIP -> gzip(body);
+            case IDENTITY -> null;
+        };
+    }
+
+    /**
+     * Quality of this coding in an {@code Accept-Encoding} header: the value of its own entry,
+     * else of {@code *}, else 0. Identity is acceptable unless excluded explicitly.
+     */
+    double quality(String acceptEncoding) {
+        double wildcard = this == IDENTITY ? 1 : 0;
+        if (acceptEncoding == null) {
+            return wildcard;
+        }
+
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim();
+            double quality = parseQuality(parts);
+            if (coding.equalsIgnoreCase(token)) {
+                return quality;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double parseQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // Carregada só no primeiro uso de BROTLI: a ausência da biblioteca nativa não impede o gzip
+    private static final class BrotliSupport {
+        private static final boolean AVAILABLE = load();
+
+        private static boolean load() {
+            try {
+                Brotli4jLoader.ensureAvailability();
+                return true;
+            } catch (Throwable e) {
+                log.warn("⚠️ Brotli indisponível nesta plataforma, apenas gzip será usado: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        private static byte[] compress(byte[] body) {
+            try {
+                return Encoder.compress(body, new Encoder.Parameters().setQuality(11));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flat, immutable index of every boolean flag in a {@link FeatureFlags} tree.
+ * <p>
+ * Each flag path ({@code modules.invoicing}, {@code beta.aiAssistant},
+ * {@code permissions.canExportData}, ...) gets an ordinal and a bit in a primitive bitset.
+ * Names are resolved through an open-addressing table hashed case-insensitively, so lookups
+ * are O(1) and allocate nothing. Module flags are also reachable by their bare name
+ * ({@code invoicing}), as the original {@code isFeatureEnabled} accepted.
+ */
+public final class FeatureFlagIndex {
+
+    public static final int NOT_FOUND = -1;
+
+    static final FeatureFlagIndex EMPTY = new FeatureFlagIndex(List.of(), List.of(), List.of());
+
+    private static final String FEATURES = "features";
+    private static final String MODULES = "modules";
+    private static final String RULES = "rules";
+
+    private final String[] names;
+    private final long[] bits;
+
+    // Tabela de lookup com endereçamento aberto: chave nula = slot vazio
+    private final String[] slotKeys;
+    private final int[] slotOrdinals;
+    private final int mask;
+
+    private FeatureFlagIndex(List<String> paths, List<Boolean> values, List<String[]> aliases) {
+        this.names = paths.toArray(new String[0]);
+        this.bits = new long[(names.length + 63) >>> 6];
+        for (int i = 0; i < names.length; i++) {
+            if (values.get(i)) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(4, (names.length + aliases.size()) * 2 - 1)) << 1;
+        this.slotKeys = new String[capacity];
+        this.slotOrdinals = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < names.length; i++) {
+            insert(names[i], i);
+        }
+        for (String[] alias : aliases) {
+            int ordinal = ordinalOf(alias[1]);
+            // Um alias nunca sobrepõe um caminho ou alias já registrado
+            if (ordinalOf(alias[0]) == NOT_FOUND) {
+                insert(alias[0], ordinal);
+            }
+        }
+    }
+
+    /**
+     * Compiles the flags into an index. Every boolean leaf becomes a flag; the top-level
+     * {@code features} wrapper is dropped from the paths and targeting {@code rules} are skipped.
+     */
+    public static FeatureFlagIndex compile(FeatureFlags flags, ObjectMapper objectMapper) {
+        if (flags == null) {
+            return EMPTY;
+        }
+
+        List<String> paths = new ArrayList<>();
+        List<Boolean> values = new ArrayList<>();
+        List<String[]> aliases = new ArrayList<>();
+
+        Iterator<Map.Entry<String, JsonNode>> roots = objectMapper.valueToTree(flags).fields();
+        while (roots.hasNext()) {
+            Map.Entry<String, JsonNode> root = roots.next();
+            if (FEATURES.equals(root.getKey())) {
+                collect(root.getValue(), null, paths, values);
+            } else if (!RULES.equals(root.getKey())) {
+                collect(root.getValue(), root.getKey(), paths, values);
+            }
+        }
+
+        String modulesPrefix = MODULES + ".";
+        for (String path : paths) {
+            if (path.startsWith(modulesPrefix)) {
+                aliases.add(new String[]{path.substring(modulesPrefix.length()), path});
+            }
+        }
+
+        return new FeatureFlagIndex(paths, values, aliases);
+    }
+
+    private static void collect(JsonNode node, String prefix, List<String> paths, List<Boolean> values) {
+        if (node.isBoolean()) {
+            if (prefix != null) {
+                paths.add(prefix);
+                values.add(node.booleanValue());
+            }
+            return;
+        }
+
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String path = prefix == null ? field.getKey() : prefix + "." + field.getKey();
+            collect(field.getValue(), path, paths, values);
+        }
+    }
+
+    /**
+     * Ordinal of a flag path or alias, ignoring case, or {@link #NOT_FOUND}.
+     */
+    public int ordinalOf(String name) {
+        if (name == null) {
+            return NOT_FOUND;
+        }
+
+        int slot = hash(name) & mask;
+        while (true) {
+            String key = slotKeys[slot];
+            if (key == null) {
+                return NOT_FOUND;
+            }
+            if (key.length() == name.length() && key.regionMatches(true, 0, name, 0, name.length())) {
+                return slotOrdinals[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean isEnabled(int ordinal) {
+        return ordinal >= 0 && ordinal < names.length && (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    public boolean isEnabled(String name) {
+        return isEnabled(ordinalOf(name));
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String nameOf(int ordinal) {
+        return names[ordinal];
+    }
+
+    private void insert(String key, int ordinal) {
+        int slot = hash(key) & mask;
+        while (slotKeys[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        slotKeys[slot] = key;
+        slotOrdinals[slot] = ordinal;
+    }
+
+    // Hash sem alocação e insensível a maiúsculas/minúsculas
+    private static int hash(String s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); i++) {
+            h = 31 * h + Character.toLowerCase(s.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Targeting rules of a {@link FeatureFlags} tree, compiled once per reload and indexed by
+ * the ordinals of a {@link FeatureFlagIndex}.
+ * <p>
+ * For a flag with a rule, a subject is evaluated in this order: deny list, allow list,
+ * attribute matches (every configured attribute must match one of its values), then
+ * percentage rollout. Without a percentage the flag keeps its global value. Rollout buckets
+ * come from {@link Murmur3}, salted with the flag path, so a subject lands in the same
+ * bucket on every node and after restarts.
+ */
+@Slf4j
+public final class FeatureFlagRules {
+
+    static final FeatureFlagRules EMPTY = new FeatureFlagRules(FeatureFlagIndex.EMPTY, new CompiledRule[0]);
+
+    // Granularidade do rollout: 0,01%
+    private static final int BUCKETS = 10_000;
+    private static final int NO_PERCENTAGE = -1;
+    // Nome do parâmetro do subject: vem junto dos atributos da query string, mas não é um deles
+    static final String SUBJECT = "subject";
+
+    private final FeatureFlagIndex index;
+    private final CompiledRule[] rules;
+
+    private FeatureFlagRules(FeatureFlagIndex index, CompiledRule[] rules) {
+        this.index = index;
+        this.rules = rules;
+    }
+
+    public static FeatureFlagRules compile(FeatureFlags flags, FeatureFlagIndex index) {
+        CompiledRule[] rules = new CompiledRule[index.size()];
+        if (flags == null || flags.getRules() == null) {
+            return new FeatureFlagRules(index, rules);
+        }
+
+        for (Map.Entry<String, FeatureFlags.Rule> entry : flags.getRules().entrySet()) {
+            int ordinal = index.ordinalOf(entry.getKey());
+            if (ordinal == FeatureFlagIndex.NOT_FOUND) {
+                log.warn("⚠️ Regra para flag desconhecida ignorada: {}", entry.getKey());
+                continue;
+            }
+            rules[ordinal] = CompiledRule.of(index.nameOf(ordinal), entry.getValue());
+        }
+
+        return new FeatureFlagRules(index, rules);
+    }
+
+    /**
+     * Evaluates a flag for a subject. Without a subject, or without a rule for the flag,
+     * the global value applies. A {@code subject} entry in {@code attributes}, as bound from the
+     * query string next to the subject itself, is never a targeting attribute.
+     */
+    public boolean isEnabled(String feature, String subject, Map<String, String> attributes) {
+        int ordinal = index.ordinalOf(feature);
+        if (ordinal == FeatureFlagIndex.NOT_FOUND) {
+            return false;
+        }
+
+        CompiledRule rule = rules[ordinal];
+        if (rule == null || subject == null) {
+            return index.isEnabled(ordinal);
+        }
+
+        return rule.evaluate(index.isEnabled(ordinal), subject, attributes);
+    }
+
+    /**
+     * Bucket of a subject in {@code [0, 10000)} for a given salt.
+     */
+    static int bucket(int salt, String subject) {
+        return (Murmur3.hash32(subject, salt) & Integer.MAX_VALUE) % BUCKETS;
+    }
+
+    private static final class CompiledRule {
+        private final int salt;
+        private final int threshold;
+        private final Set<String> allow;
+        private final Set<String> deny;
+        private final String[] attributeKeys;
+        private final Set<?>[] attributeValues;
+
+        private CompiledRule(int salt, int threshold, Set<String> allow, Set<String> deny,
+                             String[] attributeKeys, Set<?>[] attributeValues) {
+            this.salt = salt;
+            this.threshold = threshold;
+            this.allow = allow;
+            this.deny = deny;
+            this.attributeKeys = attributeKeys;
+            this.attributeValues = attributeValues;
+        }
+
+        static CompiledRule of(String path, FeatureFlags.Rule rule) {
+            int threshold = NO_PERCENTAGE;
+            if (rule.getPercentage() != null) {
+                threshold = (int) Math.round(Math.max(0, Math.min(100, rule.getPercentage())) * (BUCKETS / 100));
+            }
+
+            Map<String, List<String>> attributes = rule.getAttributes() == null ? Map.of() : rule.getAttributes();
+            String[] keys = new String[attributes.size()];
+            Set<?>[] values = new Set<?>[attributes.size()];
+            int i = 0;
+            for (Map.Entry<String, List<String>> attribute : attributes.entrySet()) {
+                keys[i] = attribute.getKey();
+                values[i] = Set.copyOf(attribute.getValue());
+                i++;
+            }
+
+            return new CompiledRule(Murmur3.hash32(path, 0), threshold,
+                    toSet(rule.getAllow()), toSet(rule.getDeny()), keys, values);
+        }
+
+        boolean evaluate(boolean globalValue, String subject, Map<String, String> attributes) {
+            if (deny.contains(subject)) {
+                return false;
+            }
+            if (allow.contains(subject)) {
+                return true;
+            }
+
+            for (int i = 0; i < attributeKeys.length; i++) {
+                String value = attributes == null || SUBJECT.equals(attributeKeys[i])
+                        ? null : attributes.get(attributeKeys[i]);
+                if (value == null || !attributeValues[i].contains(value)) {
+                    return false;
+                }
+            }
+
+            if (threshold == NO_PERCENTAGE) {
+                return globalValue;
+            }
+            return bucket(salt, subject) < threshold;
+        }
+
+        private static Set<String> toSet(List<String> values) {
+            return values == null ? Set.of() : Set.copyOf(values);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk views of a {@link FeatureFlagIndex}, so a page load costs one request instead of one per flag.
+ * <p>
+ * The "all flags" responses are serialized once per compiled index, in every {@link ConfigFormat}.
+ * Two shapes are offered: a map of flag path to value, and a packed vector where bit {@code i} of
+ * the base64 mask ({@code mask[i >> 3] & (1 << (i & 7))}) holds flag {@code i} of a name dictionary. The dictionary
+ * only changes when the set of flags changes, so clients can cache it by its version.
+ */
+@Getter
+public final class FeatureFlagVectors {
+
+    static final FeatureFlagVectors EMPTY = new FeatureFlagVectors();
+
+    private final FeatureFlagIndex index;
+    private final String dictionaryVersion;
+    private final SerializedConfig allJson;
+    private final SerializedConfig packedJson;
+    private final SerializedConfig dictionaryJson;
+
+    private FeatureFlagVectors() {
+        this.index = FeatureFlagIndex.EMPTY;
+        this.dictionaryVersion = null;
+        this.allJson = null;
+        this.packedJson = null;
+        this.dictionaryJson = null;
+    }
+
+    private FeatureFlagVectors(FeatureFlagIndex index, ConfigCodecs codecs) throws JsonProcessingException {
+        this.index = index;
+
+        List<String> names = new ArrayList<>(index.size());
+        for (int i = 0; i < index.size(); i++) {
+            names.add(index.nameOf(i));
+        }
+        this.dictionaryVersion = SerializedConfig.contentHash(codecs.mapper(ConfigFormat.JSON).writeValueAsBytes(names));
+
+        int[] ordinals = new int[index.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = i;
+        }
+
+        this.allJson = codecs.serialize(toMap(names));
+        this.packedJson = codecs.serialize(new PackedFlags(dictionaryVersion, ordinals.length, mask(ordinals)));
+        this.dictionaryJson = codecs.serialize(new FlagDictionary(dictionaryVersion, names));
+    }
+
+    static FeatureFlagVectors of(FeatureFlagIndex index, ConfigCodecs codecs) throws JsonProcessingException {
+        return index == FeatureFlagIndex.EMPTY ? EMPTY : new FeatureFlagVectors(index, codecs);
+    }
+
+    /**
+     * Values of the requested flags, in request order. Unknown flags are reported as disabled.
+     */
+    public Map<String, Boolean> toMap(List<String> names) {
+        Map<String, Boolean> values = new LinkedHashMap<>();
+        for (String name : names) {
+            values.put(name, index.isEnabled(name));
+        }
+        return values;
+    }
+
+    /**
+     * Packed values of the requested flags; bit {@code i} follows the {@code i}-th requested name.
+     */
+    public PackedFlags toPacked(List<String> names) {
+        int[] ordinals = new int[names.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = index.ordinalOf(names.get(i));
+        }
+        return new PackedFlags(null, ordinals.length, mask(ordinals));
+    }
+
+    private String mask(int[] ordinals) {
+        byte[] mask = new byte[(ordinals.length + 7) >>> 3];
+        for (int i = 0; i < ordinals.length; i++) {
+            if (index.isEnabled(ordinals[i])) {
+                mask[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        return Base64.getEncoder().encodeToString(mask);
+    }
+
+    // Vetor compacto de flags
+    @Getter
+    @AllArgsConstructor
+    public static class PackedFlags {
+        private final String dictionaryVersion;
+        private final int count;
+        private final String mask;
+    }
+
+    // Dicionário ordinal -> nome da flag
+    @Getter
+    @AllArgsConstructor
+    public static class FlagDictionary {
+        private final String version;
+        private final List<String> names;
+    }
+}
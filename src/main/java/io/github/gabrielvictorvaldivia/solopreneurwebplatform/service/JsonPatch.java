@@ -0,0 +1,74 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Structural diff producing RFC 6902 JSON Patch operations.
+ * <p>
+ * Objects are diffed member by member; arrays and scalars that differ are replaced as a whole,
+ * which keeps patches small for configuration trees whose arrays are short lists.
+ */
+public final class JsonPatch {
+
+    private JsonPatch() {
+    }
+
+    /**
+     * Operations turning {@code source} into {@code target}, with paths prefixed by {@code basePath}
+     * (a JSON pointer such as {@code /ui}, or empty for the document root).
+     */
+    public static ArrayNode diff(JsonNode source, JsonNode target, String basePath) {
+        ArrayNode operations = JsonNodeFactory.instance.arrayNode();
+        diff(source, target, basePath, operations);
+        return operations;
+    }
+
+    private static void diff(JsonNode source, JsonNode target, String path, ArrayNode operations) {
+        if (source == null || source.isMissingNode()) {
+            operations.add(operation("add", path, target));
+            return;
+        }
+        if (source.equals(target)) {
+            return;
+        }
+        if (!source.isObject() || !target.isObject()) {
+            operations.add(operation("replace", path, target));
+            return;
+        }
+
+        Iterator<Map.Entry<String, JsonNode>> sourceFields = source.fields();
+        while (sourceFields.hasNext()) {
+            String name = sourceFields.next().getKey();
+            if (!target.has(name)) {
+                operations.add(operation("remove", path + "/" + escape(name), null));
+            }
+        }
+
+        Iterator<Map.Entry<String, JsonNode>> targetFields = target.fields();
+        while (targetFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = targetFields.next();
+            diff(source.get(field.getKey()), field.getValue(), path + "/" + escape(field.getKey()), operations);
+        }
+    }
+
+    private static ObjectNode operation(String op, String path, JsonNode value) {
+        ObjectNode operation = JsonNodeFactory.instance.objectNode();
+        operation.put("op", op);
+        operation.put("path", path);
+        if (value != null) {
+            operation.set("value", value);
+        }
+        return operation;
+    }
+
+    // Escape de JSON Pointer (RFC 6901)
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
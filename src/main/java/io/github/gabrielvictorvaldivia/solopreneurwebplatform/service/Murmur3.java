@@ -0,0 +1,55 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+/**
+ * MurmurHash3 (x86, 32-bit) over UTF-16 code units.
+ * <p>
+ * Non-cryptographic, allocation-free and identical on every JVM, so values derived from it
+ * (such as rollout buckets) are stable across nodes and restarts.
+ */
+final class Murmur3 {
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    private Murmur3() {
+    }
+
+    static int hash32(CharSequence input, int seed) {
+        int h1 = seed;
+        int length = input.length();
+
+        // Dois caracteres UTF-16 por bloco de 32 bits
+        for (int i = 1; i < length; i += 2) {
+            int k1 = input.charAt(i - 1) | (input.charAt(i) << 16);
+            h1 = mixH1(h1, mixK1(k1));
+        }
+
+        if ((length & 1) == 1) {
+            h1 ^= mixK1(input.charAt(length - 1));
+        }
+
+        return fmix(h1, 2 * length);
+    }
+
+    private static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        return k1 * C2;
+    }
+
+    private static int mixH1(int h1, int k1) {
+        h1 ^= k1;
+        h1 = Integer.rotateLeft(h1, 13);
+        return h1 * 5 + 0xe6546b64;
+    }
+
+    private static int fmix(int h1, int length) {
+        h1 ^= length;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1;
+    }
+}
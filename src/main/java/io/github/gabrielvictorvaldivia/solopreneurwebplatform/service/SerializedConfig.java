@@ -0,0 +1,153 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Response body serialized once per snapshot in every {@link ConfigFormat}, and compressed once
+ * in every available {@link ContentCoding}: up front, or on the first request that accepts a
+ * compressed coding when built {@link #lazy}. Each variant has its own strong ETag. The byte
+ * arrays are shared by every request and must never be modified.
+ */
+public final class SerializedConfig {
+
+    // Abaixo disso o cabeçalho gzip/brotli come quase todo o ganho
+    private static final int MIN_COMPRESSIBLE_SIZE = 256;
+
+    // Corpo sem compressão por ConfigFormat.ordinal()
+    private final Representation[] identities;
+    // Variantes por ContentCoding.ordinal(), por formato; null enquanto não comprimidas (modo lazy)
+    private final AtomicReferenceArray<Representation[]> representations;
+
+    private SerializedConfig(byte[][] bodies, boolean lazy) {
+        this.identities = new Representation[bodies.length];
+        this.representations = new AtomicReferenceArray<>(bodies.length);
+        for (int i = 0; i < bodies.length; i++) {
+            identities[i] = new Representation(bodies[i], "\"" + contentHash(bodies[i]) + "\"", ContentCoding.IDENTITY);
+            if (!lazy) {
+                representations.set(i, compress(identities[i]));
+            }
+        }
+    }
+
+    static SerializedConfig of(byte[][] bodies) {
+        return new SerializedConfig(bodies, false);
+    }
+
+    /**
+     * Compresses each format on its first request that accepts a compressed coding, for bodies
+     * that may never be requested compressed (tenant configurations).
+     */
+    static SerializedConfig lazy(byte[][] bodies) {
+        return new SerializedConfig(bodies, true);
+    }
+
+    private static Representation[] compress(Representation identity) {
+        ContentCoding[] codings = ContentCoding.values();
+        Representation[] variants = new Representation[codings.length];
+        variants[ContentCoding.IDENTITY.ordinal()] = identity;
+        byte[] body = identity.getBody();
+        if (body.length < MIN_COMPRESSIBLE_SIZE) {
+            return variants;
+        }
+
+        String etag = identity.getEtag();
+        for (ContentCoding coding : codings) {
+            byte[] compressed = coding.encode(body);
+            if (compressed != null && compressed.length < body.length) {
+                variants[coding.ordinal()] = new Representation(compressed,
+                        etag.substring(0, etag.length() - 1) + "-" + coding.getToken() + "\"", coding);
+            }
+        }
+        return variants;
+    }
+
+    public byte[] getBody() {
+        return getBody(ConfigFormat.JSON);
+    }
+
+    public String getEtag() {
+        return getEtag(ConfigFormat.JSON);
+    }
+
+    public byte[] getBody(ConfigFormat format) {
+        return identity(format).getBody();
+    }
+
+    public String getEtag(ConfigFormat format) {
+        return identity(format).getEtag();
+    }
+
+    /**
+     * Variant of a format to send for an {@code Accept-Encoding} header: the stored coding with
+     * the highest quality, preferring brotli, then gzip, then identity on ties. Falls back to
+     * identity when nothing stored is acceptable.
+     */
+    public Representation select(ConfigFormat format, String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return identity(format);
+        }
+        Representation[] variants = variants(format);
+        Representation selected = null;
+        double selectedQuality = 0;
+        for (ContentCoding coding : ContentCoding.values()) {
+            Representation variant = variants[coding.ordinal()];
+            if (variant == null) {
+                continue;
+            }
+            double quality = coding.quality(acceptEncoding);
+            if (quality > selectedQuality) {
+                selected = variant;
+                selectedQuality = quality;
+            }
+        }
+        return selected == null ? identity(format) : selected;
+    }
+
+    private Representation identity(ConfigFormat format) {
+        return identities[format.ordinal()];
+    }
+
+    // Uma única compressão por formato, mesmo com pedidos simultâneos
+    private Representation[] variants(ConfigFormat format) {
+        int i = format.ordinal();
+        Representation[] variants = representations.get(i);
+        if (variants == null) {
+            synchronized (this) {
+                variants = representations.get(i);
+                if (variants == null) {
+                    variants = compress(identities[i]);
+                    representations.set(i, variants);
+                }
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * Hex-encoded, 128-bit truncated SHA-256 of the content.
+     */
+    static String contentHash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            // 128 bits bastam para um ETag forte
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Representation {
+        private final byte[] body;
+        private final String etag;
+        private final ContentCoding coding;
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-serialized body of one configuration section, plus the sub-trees clients select with a
+ * JSON Pointer (RFC 6901).
+ * <p>
+ * An instance belongs to one section object and is carried over to the next snapshot while
+ * that object is unchanged, so its ETags survive reloads of the other sections. Sub-trees are
+ * serialized on first request and kept in a small LRU cache; the tree they are selected from
+ * is only built once a pointer is requested.
+ */
+public final class SerializedSection {
+
+    private static final int MAX_POINTERS = 64;
+
+    private final Object value;
+    private final ConfigCodecs codecs;
+    private final SerializedConfig body;
+
+    private volatile JsonNode tree;
+    private final Map<String, SerializedConfig> pointers = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SerializedConfig> eldest) {
+            return size() > MAX_POINTERS;
+        }
+    };
+
+    private SerializedSection(Object value, ConfigCodecs codecs) throws JsonProcessingException {
+        this.value = value;
+        this.codecs = codecs;
+        this.body = codecs.serialize(value);
+    }
+
+    /**
+     * Serialized form of {@code value}, reusing {@code previous} when it was built for the same object.
+     */
+    static SerializedSection of(Object value, SerializedSection previous, ConfigCodecs codecs) throws JsonProcessingException {
+        return previous != null && previous.value == value ? previous : new SerializedSection(value, codecs);
+    }
+
+    public SerializedConfig getBody() {
+        return body;
+    }
+
+    /**
+     * Serialized sub-tree at a JSON Pointer, or {@code null} if nothing is there.
+     *
+     * @throws IllegalArgumentException if the pointer is malformed
+     */
+    public SerializedConfig at(String pointer) throws JsonProcessingException {
+        JsonPointer compiled = JsonPointer.compile(pointer);
+        if (compiled.matches()) {
+            return body;
+        }
+
+        synchronized (pointers) {
+            SerializedConfig cached = pointers.get(pointer);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        JsonNode node = tree().at(compiled);
+        if (node.isMissingNode()) {
+            return null;
+        }
+        SerializedConfig serialized = codecs.serialize(node);
+        synchronized (pointers) {
+            pointers.put(pointer, serialized);
+        }
+        return serialized;
+    }
+
+    private JsonNode tree() {
+        JsonNode current = tree;
+        if (current == null) {
+            current = codecs.mapper(ConfigFormat.JSON).valueToTree(value);
+            tree = current;
+        }
+        return current;
+    }
+}
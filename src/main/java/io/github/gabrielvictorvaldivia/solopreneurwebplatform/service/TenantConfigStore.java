@@ -0,0 +1,420 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Per-tenant configurations: the base snapshot with each tenant's sparse overlays merged in.
+ * <p>
+ * Overlays live in {@code <tenants dir>/<tenant>/}, one optional file per section named like the
+ * base file, and are applied as RFC 7386 merge patches. A tenant exists when its directory does.
+ * Its merged configuration is an immutable {@link ConfigurationSnapshot}, built on first use and
+ * kept in a size-bounded Caffeine cache. Sections a tenant does not override share the base
+ * objects and their serialized bodies.
+ * <p>
+ * The directories of cached tenants are watched. A changed overlay re-merges that tenant only and
+ * notifies its own topic; a base reload re-merges the cached tenants in one background pass on
+ * {@code configTaskExecutor}, reusing every section whose base object and overlay are unchanged.
+ * Tenant bodies are compressed on their first compressed request rather than on every merge.
+ */
+@Slf4j
+@Service
+public class TenantConfigStore {
+
+    // Formato de rótulo DNS: o ID vira nome de diretório e parte do destino STOMP
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9](?:[a-z0-9-]{0,61}[a-z0-9])?");
+    // Remontagens concorrentes do mesmo tenant (watcher e reload do base) antes de desistir
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    private final AppConfigurationService configService;
+    private final ObjectMapper objectMapper;
+    private final ConfigCodecs codecs;
+    // Mesmos mappers, com gzip/brotli só no primeiro pedido comprimido de cada tenant
+    private final ConfigCodecs tenantCodecs;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ScheduledExecutorService scheduler;
+    private final Executor configTaskExecutor;
+    private final Path tenantsDir;
+    private final Duration pollInterval;
+
+    private final Cache<String, Tenant> tenants;
+    // Um só contador para todos os tenants: a versão de um tenant nunca volta após um despejo
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    // Diretórios observados, apenas dos tenants em cache
+    private final Map<WatchKey, String> watched = new ConcurrentHashMap<>();
+    private WatchService watchService;
+
+    public TenantConfigStore(AppConfigurationService configService, ObjectMapper objectMapper, ConfigCodecs codecs,
+                             SimpMessagingTemplate messagingTemplate, ScheduledExecutorService scheduler,
+                             @Qualifier("configTaskExecutor") Executor configTaskExecutor,
+                             ConfigMetrics configMetrics,
+                             @Value("${app.tenants.dir:config/tenants}") Path tenantsDir,
+                             @Value("${app.tenants.cache.spec:maximumSize=1000}") String cacheSpec,
+                             @Value("${app.tenants.poll-interval:500ms}") Duration pollInterval) {
+        this.configService = configService;
+        this.objectMapper = objectMapper;
+        this.codecs = codecs;
+        this.tenantCodecs = codecs.withLazyCompression();
+        this.messagingTemplate = messagingTemplate;
+        this.scheduler = scheduler;
+        this.configTaskExecutor = configTaskExecutor;
+        this.tenantsDir = tenantsDir;
+        this.pollInterval = pollInterval;
+
+        // Despejado do cache, o tenant deixa de ser observado; volta a ser montado no próximo acesso
+        this.tenants = Caffeine.from(cacheSpec)
+                .recordStats()
+                .<String, Tenant>evictionListener((id, tenant, cause) -> {
+                    if (tenant != null) {
+                        unwatch(tenant.watchKey);
+                    }
+                })
+                .build();
+        configMetrics.bindTenantCache(tenants);
+    }
+
+    @PostConstruct
+    public void startWatcher() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            scheduler.scheduleWithFixedDelay(this::pollChanges,
+                    pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            log.error("❌ Erro ao iniciar watcher de tenants; overlays só serão lidos no carregamento: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Merged configuration of a tenant, or {@code null} if the ID is malformed or the tenant has
+     * no directory. A tenant whose overlays cannot be read or merged on first load is served the
+     * base configuration until the overlay is fixed.
+     */
+    public ConfigurationSnapshot getSnapshot(String tenant) {
+        if (!TENANT_ID.matcher(tenant).matches()) {
+            return null;
+        }
+        Tenant cached = tenants.get(tenant, this::load);
+        if (cached == null) {
+            return null;
+        }
+        // Base publicado durante o carregamento: a passada do reload não via a chave ainda em montagem.
+        // Agora ela está no cache, e uma nova passada a remonta
+        if (cached.base != configService.getSnapshot()) {
+            requestRefresh();
+        }
+        return cached.snapshot;
+    }
+
+    // Executado pelo Caffeine uma vez por tenant ausente do cache
+    private Tenant load(String tenant) {
+        Path directory = tenantsDir.resolve(tenant);
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+
+        // Registrado antes da leitura, para não perder uma edição feita durante a montagem
+        WatchKey key = null;
+        try {
+            key = watch(tenant, directory);
+        } catch (IOException e) {
+            log.error("❌ Erro ao observar tenant {}; overlays só serão lidos no carregamento: {}", tenant, e.getMessage());
+        }
+
+        ConfigurationSnapshot base = configService.getSnapshot();
+        Tenant loaded;
+        try {
+            try {
+                loaded = build(base, null, readOverlays(directory, null), key);
+            } catch (IOException e) {
+                // Mesma política do reload global: sem overlay válido, o tenant recebe o base e segue observado
+                log.warn("⚠️ Overlay do tenant {} inválido; servindo a configuração base: {}", tenant, e.getMessage());
+                loaded = baseOnly(base, key);
+            }
+        } catch (RuntimeException | Error e) {
+            // Sem entrada no cache, o listener de despejo nunca liberaria a chave
+            unwatch(key);
+            throw e;
+        }
+        log.info("🏢 Tenant {} carregado (v{})", tenant, loaded.snapshot.getVersion());
+        return loaded;
+    }
+
+    // Tenant sem overlays: o base com versão do contador dos tenants
+    private Tenant baseOnly(ConfigurationSnapshot base, WatchKey key) {
+        int count = ConfigSection.values().length;
+        try {
+            return build(base, null, new Overlays(new JsonNode[count], new long[count]), key);
+        } catch (IOException e) {
+            // Sem overlay não há merge nem validação; só a serialização do base pode falhar
+            throw new UncheckedIOException("Falha ao montar configurações base do tenant", e);
+        }
+    }
+
+    private WatchKey watch(String tenant, Path directory) throws IOException {
+        if (watchService == null) {
+            return null;
+        }
+        WatchKey key = directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        watched.put(key, tenant);
+        return key;
+    }
+
+    private void unwatch(WatchKey key) {
+        if (key != null) {
+            watched.remove(key);
+            key.cancel();
+        }
+    }
+
+    // Overlays por seção (null onde o tenant não sobrescreve nada); hash igual reaproveita o já lido
+    private Overlays readOverlays(Path directory, Tenant previous) throws IOException {
+        int count = ConfigSection.values().length;
+        Overlays overlays = new Overlays(new JsonNode[count], new long[count]);
+        for (ConfigSection section : ConfigSection.values()) {
+            Path file = directory.resolve(section.getFileName());
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+
+            byte[] content = Files.readAllBytes(file);
+            long hash = XxHash64.hash(ByteBuffer.wrap(content));
+            int i = section.ordinal();
+            overlays.hashes[i] = hash;
+            overlays.nodes[i] = previous != null && previous.overlays.nodes[i] != null
+                    && previous.overlays.hashes[i] == hash
+                    ? previous.overlays.nodes[i]
+                    : objectMapper.readTree(content);
+        }
+        return overlays;
+    }
+
+    // Funde só as seções cujo objeto base ou overlay mudou; sem mudança, devolve o snapshot anterior
+    private Tenant build(ConfigurationSnapshot base, Tenant previous, Overlays overlays, WatchKey key) throws IOException {
+        Map<ConfigSection, Object> sections = new EnumMap<>(ConfigSection.class);
+        boolean changed = previous == null;
+        for (ConfigSection section : ConfigSection.values()) {
+            int i = section.ordinal();
+            JsonNode overlay = overlays.nodes[i];
+            Object merged;
+            if (overlay == null) {
+                merged = base.get(section);
+            } else if (previous != null && previous.overlays.nodes[i] == overlay
+                    && previous.base.get(section) == base.get(section)) {
+                merged = previous.snapshot.get(section);
+            } else {
+                merged = objectMapper.treeToValue(
+                        JsonMergePatch.apply(objectMapper.valueToTree(base.get(section)), overlay), section.getType());
+                // Mesmas regras do base: um overlay inválido não chega aos clientes do tenant
+                ConfigValidator.validate(section, merged);
+            }
+            changed |= previous != null && merged != previous.snapshot.get(section);
+            sections.put(section, merged);
+        }
+
+        if (!changed) {
+            return new Tenant(base, overlays, previous.snapshot, key);
+        }
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(versions.incrementAndGet(), Instant.now(),
+                        sections, overlays.hashes)
+                .assemble(tenantCodecs, objectMapper, previous == null ? null : previous.snapshot, base);
+        return new Tenant(base, overlays, snapshot, key);
+    }
+
+    // Um reload publica um evento por seção alterada; uma única passada atende todos
+    @EventListener
+    public void onBaseChanged(AppConfigurationService.ConfigurationChangedEvent event) {
+        requestRefresh();
+    }
+
+    // No máximo uma passada na fila; a que já começou não absorve pedidos novos. Fora do
+    // configScheduler, cujas threads atendem o watcher, os timers e os heartbeats do SSE
+    private void requestRefresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            try {
+                configTaskExecutor.execute(this::refreshAll);
+            } catch (RejectedExecutionException e) {
+                // Sem a passada, o próximo reload ou acesso a um tenant desatualizado tenta de novo
+                refreshPending.set(false);
+                log.error("❌ Remontagem dos tenants recusada pelo executor: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void refreshAll() {
+        refreshPending.set(false);
+        for (String tenant : tenants.asMap().keySet()) {
+            rebuild(tenant, false);
+        }
+    }
+
+    // Eventos dos diretórios em cache, recolhidos a cada período de silêncio
+    private void pollChanges() {
+        try {
+            Set<String> changed = new HashSet<>();
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                String tenant = watched.get(key);
+                boolean relevant = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    relevant |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || ConfigSection.fromFileName(event.context().toString()) != null;
+                }
+
+                if (!key.reset()) {
+                    // Diretório removido: o tenant deixa de existir
+                    watched.remove(key);
+                    if (tenant != null) {
+                        tenants.invalidate(tenant);
+                        log.info("🏢 Tenant {} removido", tenant);
+                    }
+                } else if (tenant != null && relevant) {
+                    changed.add(tenant);
+                }
+            }
+
+            for (String tenant : changed) {
+                rebuild(tenant, true);
+            }
+        } catch (Exception e) {
+            log.error("❌ Erro no watcher de tenants: {}", e.getMessage(), e);
+        }
+    }
+
+    // Remonta um tenant em cache sobre o base atual e notifica apenas o tópico dele
+    // A montagem roda fora do lock do cache; a troca só vale se a entrada ainda é a que foi lida
+    private void rebuild(String tenant, boolean overlaysChanged) {
+        for (int attempt = 1; attempt <= REBUILD_ATTEMPTS; attempt++) {
+            Tenant previous = tenants.asMap().get(tenant);
+            ConfigurationSnapshot base = configService.getSnapshot();
+            if (previous == null || (!overlaysChanged && previous.base == base)) {
+                return;
+            }
+
+            Tenant next;
+            try {
+                Overlays overlays = overlaysChanged
+                        ? readOverlays(tenantsDir.resolve(tenant), previous)
+                        : previous.overlays;
+                next = build(base, previous, overlays, previous.watchKey);
+            } catch (IOException e) {
+                // Overlay inválido: o tenant continua com a última configuração boa
+                log.error("❌ Erro ao recarregar tenant {}: {}", tenant, e.getMessage());
+                return;
+            }
+
+            if (tenants.asMap().replace(tenant, previous, next)) {
+                if (next.snapshot != previous.snapshot) {
+                    notifyTenant(tenant, previous.snapshot, next.snapshot);
+                }
+                return;
+            }
+            // Outra remontagem publicou antes: refaz sobre a entrada nova
+        }
+        log.warn("⚠️ Tenant {} não remontado após {} tentativas concorrentes", tenant, REBUILD_ATTEMPTS);
+    }
+
+    // Mesmo delta RFC 6902 dos clientes globais, no destino do tenant
+    private void notifyTenant(String tenant, ConfigurationSnapshot previous, ConfigurationSnapshot current) {
+        try {
+            ArrayNode patch = JsonNodeFactory.instance.arrayNode();
+            Set<ConfigSection> sections = new HashSet<>();
+            for (ConfigSection section : ConfigSection.values()) {
+                if (previous.get(section) != current.get(section)) {
+                    sections.add(section);
+                    patch.addAll(JsonPatch.diff(objectMapper.valueToTree(previous.get(section)),
+                            objectMapper.valueToTree(current.get(section)), "/" + section.getKey()));
+                }
+            }
+
+            String configType = sections.size() == 1 ? sections.iterator().next().getKey() : "all";
+            AppConfigurationService.ConfigUpdateMessage message = new AppConfigurationService.ConfigUpdateMessage(
+                    configType, previous.getVersion(), current.getVersion(), patch, Instant.now().toEpochMilli());
+            for (ConfigFormat format : ConfigFormat.values()) {
+                messagingTemplate.send(ConfigUpdateConflater.destination(tenant, format), ConfigUpdateConflater.updateMessage(
+                        format, codecs.mapper(format).writeValueAsBytes(message), previous.getVersion(), current.getVersion()));
+            }
+
+            log.info("📢 Tenant {} notificado sobre mudança em: {} (v{} → v{}, {} operações)",
+                    tenant, configType, previous.getVersion(), current.getVersion(), patch.size());
+
+        } catch (Exception e) {
+            log.error("❌ Erro ao notificar tenant {}: {}", tenant, e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private static final class Overlays {
+        private final JsonNode[] nodes;
+        // XXH64 de cada arquivo de overlay; 0 quando ausente
+        private final long[] hashes;
+
+        private Overlays(JsonNode[] nodes, long[] hashes) {
+            this.nodes = nodes;
+            this.hashes = hashes;
+        }
+    }
+
+    // Configuração montada de um tenant e as entradas usadas para montá-la
+    private static final class Tenant {
+        private final ConfigurationSnapshot base;
+        private final Overlays overlays;
+        private final ConfigurationSnapshot snapshot;
+        private final WatchKey watchKey;
+
+        private Tenant(ConfigurationSnapshot base, Overlays overlays, ConfigurationSnapshot snapshot, WatchKey watchKey) {
+            this.base = base;
+            this.overlays = overlays;
+            this.snapshot = snapshot;
+            this.watchKey = watchKey;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * XXH64 over the remaining bytes of a buffer, used to fingerprint configuration files.
+ * <p>
+ * Non-cryptographic and several GB/s per core, so every file can be hashed on every
+ * change or poll. Works on heap, direct and memory-mapped buffers alike.
+ */
+final class XxHash64 {
+
+    private static final long P1 = 0x9E3779B185EBCA87L;
+    private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long P3 = 0x165667B19E3779F9L;
+    private static final long P4 = 0x85EBCA77C2B2AE63L;
+    private static final long P5 = 0x27D4EB2F165667C5L;
+
+    private XxHash64() {
+    }
+
+    static long hash(ByteBuffer input) {
+        return hash(input, 0L);
+    }
+
+    static long hash(ByteBuffer input, long seed) {
+        // Leitura absoluta em little-endian sem alterar a posição do buffer original
+        ByteBuffer buf = input.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int offset = buf.position();
+        int end = buf.limit();
+        int length = end - offset;
+        long h;
+
+        if (length >= 32) {
+            long v1 = seed + P1 + P2;
+            long v2 = seed + P2;
+            long v3 = seed;
+            long v4 = seed - P1;
+            int limit = end - 32;
+            do {
+                v1 = round(v1, buf.getLong(offset));
+                v2 = round(v2, buf.getLong(offset + 8));
+                v3 = round(v3, buf.getLong(offset + 16));
+                v4 = round(v4, buf.getLong(offset + 24));
+                offset += 32;
+            } while (offset <= limit);
+
+            h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7)
+                    + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            h = mergeRound(h, v1);
+            h = mergeRound(h, v2);
+            h = mergeRound(h, v3);
+            h = mergeRound(h, v4);
+        } else {
+            h = seed + P5;
+        }
+
+        h += length;
+
+        while (offset + 8 <= end) {
+            h ^= round(0, buf.getLong(offset));
+            h = Long.rotateLeft(h, 27) * P1 + P4;
+            offset += 8;
+        }
+        if (offset + 4 <= end) {
+            h ^= (buf.getInt(offset) & 0xFFFFFFFFL) * P1;
+            h = Long.rotateLeft(h, 23) * P2 + P3;
+            offset += 4;
+        }
+        while (offset < end) {
+            h ^= (buf.get(offset) & 0xFFL) * P5;
+            h = Long.rotateLeft(h, 11) * P1;
+            offset++;
+        }
+
+        h ^= h >>> 33;
+        h *= P2;
+        h ^= h >>> 29;
+        h *= P3;
+        h ^= h >>> 32;
+        return h;
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * P2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * P1;
+    }
+
+    private static long mergeRound(long acc, long val) {
+        acc ^= round(0, val);
+        return acc * P1 + P4;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerformanceMetricsTest {
+
+    @Test
+    void tagsByRouteTemplateAndCapsUnknownRoutes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PerformanceMetrics metrics = new PerformanceMetrics(registry, new Duration[]{Duration.ofMillis(10)}, 2);
+
+        metrics.requestStarted();
+        metrics.requestCompleted("/api/config/feature/{feature}", 200, 1_000_000);
+        metrics.requestStarted();
+        metrics.requestCompleted("/api/config/feature/{feature}", 200, 1_000_000);
+        for (int i = 0; i < 10; i++) {
+            metrics.requestStarted();
+            metrics.requestCompleted("/route-" + i, 404, 1_000_000);
+        }
+
+        assertThat(registry.get("http.route.latency").tag("uri", "/api/config/feature/{feature}").timer().count())
+                .isEqualTo(2);
+        assertThat(registry.get("http.route.latency").tag("uri", PerformanceMetrics.OTHER_ROUTE).timer().count())
+                .isEqualTo(9);
+        assertThat(registry.get("http.route.latency").timers()).hasSize(3);
+        assertThat(registry.get("http.server.in.flight").gauge().value()).isZero();
+    }
+}
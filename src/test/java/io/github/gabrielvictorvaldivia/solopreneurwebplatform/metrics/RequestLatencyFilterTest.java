@@ -0,0 +1,35 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLatencyFilterTest {
+
+    @Test
+    void asyncRequestsAreRecordedWhenTheAsyncContextCompletes() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PerformanceMetrics metrics = new PerformanceMetrics(registry, new Duration[]{Duration.ofMillis(10)}, 10);
+        RequestLatencyFilter filter = new RequestLatencyFilter(metrics);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/config/stream");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+
+        // Stream aberto: ainda em andamento, nada registrado
+        assertThat(registry.find("http.route.latency").timers()).isEmpty();
+        assertThat(registry.get("http.server.in.flight").gauge().value()).isEqualTo(1);
+
+        request.getAsyncContext().complete();
+
+        assertThat(registry.get("http.route.latency").tag("uri", PerformanceMetrics.UNMAPPED_ROUTE)
+                .tag("status", "200").timer().count()).isEqualTo(1);
+        assertThat(registry.get("http.server.in.flight").gauge().value()).isZero();
+    }
+}
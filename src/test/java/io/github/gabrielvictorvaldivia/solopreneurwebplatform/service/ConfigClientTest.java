@@ -0,0 +1,99 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ConfigCodecs codecs = new ConfigCodecs(objectMapper);
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private ConfigurationSnapshot bundled() throws Exception {
+        Map<ConfigSection, Object> sections = new EnumMap<>(ConfigSection.class);
+        for (ConfigSection section : ConfigSection.values()) {
+            sections.put(section, objectMapper.readValue(
+                    Path.of("src/main/resources/config", section.getFileName()).toFile(), section.getType()));
+        }
+        return ConfigurationSnapshot.of(1, Instant.now(), sections, new long[ConfigSection.values().length])
+                .assemble(codecs, objectMapper);
+    }
+
+    private ConfigurationSnapshot withPrimaryColor(ConfigurationSnapshot previous, String color) throws Exception {
+        ObjectNode tree = objectMapper.valueToTree(previous.getUiConfig());
+        ((ObjectNode) tree.get("branding")).put("primaryColor", color);
+        UiConfig ui = objectMapper.treeToValue(tree, UiConfig.class);
+        return previous.next(Map.of(ConfigSection.UI, ui), Map.of()).assemble(codecs, objectMapper, previous);
+    }
+
+    @Test
+    void readsTypedValuesAndNotifiesOnlyMatchingPaths() throws Exception {
+        AtomicReference<ConfigurationSnapshot> current = new AtomicReference<>(bundled());
+        ConfigClient client = new ConfigClient(current::get, tasks::add);
+        assertThat(client.get(ConfigClient.PRIMARY_COLOR)).isEqualTo("#007bff");
+        assertThat(client.get(ConfigClient.DASHBOARD_AUTO_REFRESH)).isEqualTo(300);
+        assertThat(client.get(ConfigKey.list("ui.themes.available"))).containsExactly("light", "dark", "auto");
+
+        List<ConfigChange> branding = new ArrayList<>();
+        List<String> colors = new ArrayList<>();
+        List<ConfigChange> app = new ArrayList<>();
+        client.subscribe("ui.branding.*", branding::add);
+        client.subscribe(ConfigClient.PRIMARY_COLOR, (previous, next) -> colors.add(previous + "→" + next));
+        client.subscribe("app.*", app::add);
+
+        ConfigurationSnapshot previous = current.get();
+        current.set(withPrimaryColor(previous, "#112233"));
+        client.onPublished(new AppConfigurationService.ConfigurationPublishedEvent(previous, current.get()));
+        tasks.poll().run();
+
+        assertThat(branding).singleElement().satisfies(change -> {
+            assertThat(change.getPaths()).containsExactly("ui.branding.primaryColor");
+            assertThat(change.getVersion()).isEqualTo(2);
+        });
+        assertThat(colors).containsExactly("#007bff→#112233");
+        assertThat(app).isEmpty();
+        assertThat(client.get(ConfigClient.PRIMARY_COLOR)).isEqualTo("#112233");
+    }
+
+    @Test
+    void versionsPublishedDuringADispatchAreDeliveredTogether() throws Exception {
+        AtomicReference<ConfigurationSnapshot> current = new AtomicReference<>(bundled());
+        ConfigClient client = new ConfigClient(current::get, tasks::add);
+        List<ConfigChange> changes = new ArrayList<>();
+        client.subscribe("*", change -> {
+            throw new IllegalStateException("listener com defeito");
+        });
+        client.subscribe("*", changes::add);
+
+        ConfigurationSnapshot first = current.get();
+        ConfigurationSnapshot second = withPrimaryColor(first, "#112233");
+        ConfigurationSnapshot third = withPrimaryColor(second, "#445566");
+        client.onPublished(new AppConfigurationService.ConfigurationPublishedEvent(first, second));
+        client.onPublished(new AppConfigurationService.ConfigurationPublishedEvent(second, third));
+
+        assertThat(tasks).hasSize(1);
+        tasks.poll().run();
+
+        assertThat(changes).singleElement().satisfies(change -> {
+            assertThat(change.getPreviousVersion()).isEqualTo(1);
+            assertThat(change.getVersion()).isEqualTo(3);
+            assertThat(change.previous(ConfigClient.PRIMARY_COLOR)).isEqualTo("#007bff");
+            assertThat(change.current(ConfigClient.PRIMARY_COLOR)).isEqualTo("#445566");
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfigClusterTest {
+
+    @TempDir
+    Path shared;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConfigCluster node(String id) {
+        return new ConfigCluster(objectMapper, shared.toString(), id);
+    }
+
+    private static ByteBuffer content(ConfigSection section, int revision) {
+        return ByteBuffer.wrap(("{\"" + section.getKey() + "\":" + revision + "}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void eachGenerationIsClaimedByOneNode() throws IOException {
+        ConfigCluster a = node("a");
+        ConfigCluster b = node("b");
+        Map<ConfigSection, ByteBuffer> contents = new EnumMap<>(ConfigSection.class);
+        long[] hashes = new long[ConfigSection.values().length];
+        for (ConfigSection section : ConfigSection.values()) {
+            contents.put(section, content(section, 1));
+            hashes[section.ordinal()] = XxHash64.hash(content(section, 1));
+        }
+
+        assertThat(a.publish(1, contents, hashes)).isNotNull();
+        assertThat(b.publish(1, contents, hashes)).isNull();
+
+        // Segunda geração só com a seção alterada; as demais apontam para o conteúdo já gravado
+        hashes[ConfigSection.UI.ordinal()] = XxHash64.hash(content(ConfigSection.UI, 2));
+        assertThat(b.publish(2, Map.of(ConfigSection.UI, content(ConfigSection.UI, 2)), hashes)).isNotNull();
+
+        ConfigCluster.Manifest latest = a.latest();
+        assertThat(latest.getGeneration()).isEqualTo(2);
+        assertThat(latest.getNode()).isEqualTo("b");
+        assertThat(a.read(latest, ConfigSection.UI)).isEqualTo(content(ConfigSection.UI, 2));
+        assertThat(a.read(latest, ConfigSection.APP)).isEqualTo(content(ConfigSection.APP, 1));
+    }
+
+    @Test
+    void refusesAGenerationPointingAtMissingContent() throws IOException {
+        ConfigCluster a = node("a");
+
+        assertThat(a.latest()).isNull();
+        assertThatThrownBy(() -> a.publish(1, Map.of(), new long[ConfigSection.values().length]))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("ausente no cluster");
+        assertThat(a.latest()).isNull();
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigFormatTest {
+
+    @Test
+    void defaultsToJson() {
+        assertThat(negotiate(null)).isEqualTo(ConfigFormat.JSON);
+        assertThat(negotiate("*/*")).isEqualTo(ConfigFormat.JSON);
+        assertThat(negotiate("application/json, application/cbor")).isEqualTo(ConfigFormat.JSON);
+    }
+
+    @Test
+    void explicitFormatWinsOverWildcardAtTheSameQuality() {
+        assertThat(negotiate("application/cbor, */*")).isEqualTo(ConfigFormat.CBOR);
+        assertThat(negotiate("application/x-jackson-smile, application/*")).isEqualTo(ConfigFormat.SMILE);
+    }
+
+    @Test
+    void honorsQualityValues() {
+        assertThat(negotiate("application/json;q=0.5, application/x-jackson-smile")).isEqualTo(ConfigFormat.SMILE);
+        assertThat(negotiate("application/cbor;q=0.2, */*;q=0.8")).isEqualTo(ConfigFormat.JSON);
+        assertThat(negotiate("*/*, application/json;q=0")).isEqualTo(ConfigFormat.CBOR);
+    }
+
+    @Test
+    void returnsNullWhenNothingIsAcceptable() {
+        assertThat(negotiate("text/html")).isNull();
+        assertThat(negotiate("application/cbor;q=0")).isNull();
+    }
+
+    private static ConfigFormat negotiate(String accept) {
+        return ConfigFormat.negotiate(MediaType.parseMediaTypes(accept));
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigHistoryTest {
+
+    @Test
+    void keepsOnlyTheLastSnapshotsOldestFirst() {
+        ConfigHistory history = new ConfigHistory(3);
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.EMPTY;
+        for (int i = 0; i < 5; i++) {
+            snapshot = snapshot.next(Map.of(), Map.of());
+            history.record(snapshot);
+        }
+
+        assertThat(history.list())
+                .extracting(ConfigHistory.VersionSummary::getVersion)
+                .containsExactly(3L, 4L, 5L);
+        assertThat(history.get(5)).isSameAs(snapshot);
+        assertThat(history.get(2)).isNull();
+    }
+
+    @Test
+    void emptyHistoryHasNoVersions() {
+        ConfigHistory history = new ConfigHistory(3);
+
+        assertThat(history.list()).isEmpty();
+        assertThat(history.get(1)).isNull();
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigPatchLogTest {
+
+    @Test
+    void replaysTheChainOrReportsAGap() {
+        ConfigPatchLog log = new ConfigPatchLog(2);
+        log.append(1, 2, bytes("{\"v\":2}"));
+        log.append(2, 3, bytes("{\"v\":3}"));
+        log.append(3, 4, bytes("{\"v\":4}"));
+
+        assertThat(log.chainSince(2, 4)).extracting(ConfigPatchLog.Entry::getVersion).containsExactly(3L, 4L);
+        assertThat(new String(log.since(2, 4), StandardCharsets.UTF_8)).isEqualTo("[{\"v\":3},{\"v\":4}]");
+        assertThat(log.chainSince(4, 4)).isEmpty();
+        // v2 saiu do log: o cliente precisa do snapshot
+        assertThat(log.chainSince(1, 4)).isNull();
+    }
+
+    @Test
+    void encodesEachPayloadLineAsAnSseDataLine() {
+        ConfigEventStream.Frame frame = ConfigEventStream.frame(ConfigEventStream.PATCH_EVENT, 7, bytes("{\n\"a\":1\r\n}"));
+
+        assertThat(frame.getVersion()).isEqualTo(7);
+        assertThat(new String(frame.getBytes(), StandardCharsets.UTF_8))
+                .isEqualTo("id: 7\nevent: patch\ndata: {\ndata: \"a\":1\ndata: }\n\n");
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfigReloadPipelineTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final List<Set<ConfigSection>> passes = new ArrayList<>();
+    private final AtomicInteger coalesced = new AtomicInteger();
+
+    private ConfigReloadPipeline.Outcome noRollback(long version) {
+        throw new AssertionError("rollback inesperado para v" + version);
+    }
+
+    @Test
+    void requestsJoinTheQueuedReloadAndShareItsResult() {
+        ConfigReloadPipeline pipeline = new ConfigReloadPipeline(tasks::add, (sections, force) -> {
+            passes.add(sections);
+            return new ConfigReloadPipeline.Outcome(sections, 7);
+        }, this::noRollback, coalesced::incrementAndGet);
+
+        ConfigReload first = pipeline.submit(EnumSet.of(ConfigSection.UI), false);
+        ConfigReload second = pipeline.submit(EnumSet.of(ConfigSection.APP), false);
+        assertThat(second).isSameAs(first);
+        assertThat(first.getStatus()).isEqualTo(ConfigReload.Status.QUEUED);
+        // Espera limitada: quem aguarda recebe o reload ainda na fila
+        assertThat(first.await(Duration.ofMillis(10)).isDone()).isFalse();
+
+        tasks.poll().run();
+
+        assertThat(passes).containsExactly(EnumSet.of(ConfigSection.APP, ConfigSection.UI));
+        assertThat(first.getStatus()).isEqualTo(ConfigReload.Status.COMPLETED);
+        assertThat(first.getRequests()).isEqualTo(2);
+        assertThat(first.getVersion()).isEqualTo(7);
+        assertThat(pipeline.get(first.getId())).isSameAs(first);
+        assertThat(coalesced).hasValue(1);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void forcedRequestsJoinARunningForcedReloadWhileOthersQueueBehindIt() {
+        List<ConfigReload> joined = new ArrayList<>();
+        ConfigReloadPipeline[] pipeline = new ConfigReloadPipeline[1];
+        pipeline[0] = new ConfigReloadPipeline(tasks::add, (sections, force) -> {
+            if (passes.isEmpty()) {
+                // Chegam enquanto a primeira passada lê os arquivos
+                joined.add(pipeline[0].submit(EnumSet.allOf(ConfigSection.class), true));
+                joined.add(pipeline[0].submit(EnumSet.of(ConfigSection.UI), false));
+            }
+            passes.add(sections);
+            if (passes.size() == 2) {
+                throw new IOException("arquivo inválido");
+            }
+            return new ConfigReloadPipeline.Outcome(Set.of(), 1);
+        }, this::noRollback, coalesced::incrementAndGet);
+
+        ConfigReload forced = pipeline[0].submit(EnumSet.allOf(ConfigSection.class), true);
+        tasks.poll().run();
+
+        assertThat(joined.get(0)).isSameAs(forced);
+        ConfigReload queued = joined.get(1);
+        assertThat(queued).isNotSameAs(forced);
+        assertThat(forced.isDone()).isTrue();
+        assertThat(queued.getStatus()).isEqualTo(ConfigReload.Status.QUEUED);
+
+        tasks.poll().run();
+
+        assertThat(passes).hasSize(2);
+        assertThat(queued.getStatus()).isEqualTo(ConfigReload.Status.FAILED);
+        assertThat(queued.getError()).isEqualTo("arquivo inválido");
+    }
+
+    @Test
+    void anErrorFailsTheReloadAndFreesThePipeline() {
+        ConfigReloadPipeline pipeline = new ConfigReloadPipeline(tasks::add, (sections, force) -> {
+            passes.add(sections);
+            if (passes.size() == 1) {
+                throw new StackOverflowError();
+            }
+            return new ConfigReloadPipeline.Outcome(sections, 2);
+        }, this::noRollback, coalesced::incrementAndGet);
+
+        ConfigReload failed = pipeline.submit(EnumSet.of(ConfigSection.UI), false);
+        assertThatThrownBy(tasks.poll()::run).isInstanceOf(StackOverflowError.class);
+
+        assertThat(failed.getStatus()).isEqualTo(ConfigReload.Status.FAILED);
+        assertThat(failed.getError()).isEqualTo("StackOverflowError");
+
+        // O próximo pedido não se junta ao reload morto
+        ConfigReload next = pipeline.submit(EnumSet.of(ConfigSection.UI), false);
+        assertThat(next).isNotSameAs(failed);
+        tasks.poll().run();
+        assertThat(next.getStatus()).isEqualTo(ConfigReload.Status.COMPLETED);
+    }
+
+    @Test
+    void rollbacksRunInTurnAndLaterRequestsQueueBehindThem() {
+        List<Long> rollbacks = new ArrayList<>();
+        ConfigReloadPipeline pipeline = new ConfigReloadPipeline(tasks::add, (sections, force) -> {
+            passes.add(sections);
+            return new ConfigReloadPipeline.Outcome(sections, 5);
+        }, version -> {
+            rollbacks.add(version);
+            return new ConfigReloadPipeline.Outcome(Set.of(ConfigSection.UI), 6);
+        }, coalesced::incrementAndGet);
+
+        ConfigReload files = pipeline.submit(EnumSet.of(ConfigSection.UI), false);
+        ConfigReload rollback = pipeline.submitRollback(3);
+        // Pedido posterior ao rollback: não se junta ao reload que roda antes dele
+        ConfigReload after = pipeline.submit(EnumSet.of(ConfigSection.APP), false);
+        assertThat(rollback).isNotSameAs(files);
+        assertThat(after).isNotSameAs(files).isNotSameAs(rollback);
+        assertThat(files.getSections()).containsExactly(ConfigSection.UI);
+
+        tasks.poll().run();
+        assertThat(rollback.getStatus()).isEqualTo(ConfigReload.Status.QUEUED);
+        tasks.poll().run();
+        assertThat(rollbacks).containsExactly(3L);
+        assertThat(rollback.getVersion()).isEqualTo(6);
+        assertThat(after.getStatus()).isEqualTo(ConfigReload.Status.QUEUED);
+        tasks.poll().run();
+
+        assertThat(passes).containsExactly(EnumSet.of(ConfigSection.UI), EnumSet.of(ConfigSection.APP));
+        assertThat(after.getStatus()).isEqualTo(ConfigReload.Status.COMPLETED);
+        assertThat(tasks).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.AppConfig;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.GeneratedFiles;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.javapoet.ClassName;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigRuntimeHintsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void registersConfigModelsPayloadsAndBundledFiles() {
+        RuntimeHints hints = new RuntimeHints();
+        new ConfigRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Tipos aninhados alcançados pelas propriedades dos modelos
+        assertThat(RuntimeHintsPredicates.reflection().onType(AppConfig.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(UiConfig.Branding.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(FeatureFlags.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(UiConfig.Branding.class, "setPrimaryColor").invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(FeatureFlags.Rule.class, "setAllow").invoke())
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ConfigSnapshotStore.Persisted.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(AppConfigurationService.ConfigUpdateMessage.class))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("config/ui-config.json")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource(ConfigSnapshotStore.BUNDLED_DEFAULTS)).accepts(hints);
+    }
+
+    @Test
+    void bundledDefaultsAreEmbeddedAsARestorableSnapshot() throws Exception {
+        InMemoryGeneratedFiles files = new InMemoryGeneratedFiles();
+        DefaultGenerationContext context = new DefaultGenerationContext(
+                new ClassNameGenerator(ClassName.get(ConfigRuntimeHintsTest.class)), files);
+
+        new BundledDefaultsAotProcessor().processAheadOfTime(new DefaultListableBeanFactory())
+                .applyTo(context, null);
+
+        Path file = directory.resolve("defaults.snapshot");
+        try (InputStream in = files.getGeneratedFile(GeneratedFiles.Kind.RESOURCE,
+                ConfigSnapshotStore.BUNDLED_DEFAULTS).getInputStream()) {
+            Files.write(file, in.readAllBytes());
+        }
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ConfigurationSnapshot bundled = new ConfigSnapshotStore(new ConfigCodecs(objectMapper),
+                ConfigSnapshotStore.buildFingerprint(getClass().getClassLoader()), true, file).load();
+
+        for (ConfigSection section : ConfigSection.values()) {
+            byte[] content = Files.readAllBytes(Path.of("src/main/resources/config", section.getFileName()));
+            assertThat(bundled.get(section))
+                    .isEqualTo(objectMapper.readValue(content, section.getType()));
+            // Hash igual ao da leitura em execução: a revalidação não volta a parsear
+            assertThat(bundled.getContentHash(section)).isEqualTo(XxHash64.hash(ByteBuffer.wrap(content)));
+        }
+        assertThat(RuntimeHintsPredicates.resource().forResource(ConfigSnapshotStore.BUNDLED_DEFAULTS))
+                .accepts(context.getRuntimeHints());
+    }
+}
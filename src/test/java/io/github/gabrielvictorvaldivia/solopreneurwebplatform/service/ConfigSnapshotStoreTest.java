@@ -0,0 +1,81 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigSnapshotStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ConfigCodecs codecs = new ConfigCodecs(objectMapper);
+    private static final long BUILD = 42;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresTheLastSavedGeneration() throws Exception {
+        Path file = directory.resolve("config.snapshot");
+        ConfigurationSnapshot saved = bundledSnapshot();
+        new ConfigSnapshotStore(codecs, BUILD, true, file).save(saved);
+
+        ConfigSnapshotStore store = new ConfigSnapshotStore(codecs, BUILD, true, file);
+        ConfigurationSnapshot restored = store.load();
+
+        assertThat(restored.getVersion()).isEqualTo(saved.getVersion());
+        for (ConfigSection section : ConfigSection.values()) {
+            assertThat(restored.get(section)).isEqualTo(saved.get(section));
+            assertThat(restored.getContentHash(section)).isEqualTo(saved.getContentHash(section));
+        }
+
+        // Versão já gravada não é sobrescrita por uma anterior
+        store.save(ConfigurationSnapshot.EMPTY.next(Map.of(), Map.of()));
+        assertThat(new ConfigSnapshotStore(codecs, BUILD, true, file).load().getVersion()).isEqualTo(saved.getVersion());
+    }
+
+    @Test
+    void ignoresMissingAndCorruptedFiles() throws Exception {
+        Path file = directory.resolve("config.snapshot");
+        ConfigSnapshotStore store = new ConfigSnapshotStore(codecs, BUILD, true, file);
+        assertThat(store.load()).isNull();
+
+        store.save(bundledSnapshot());
+        byte[] content = Files.readAllBytes(file);
+        content[content.length - 1] ^= 1;
+        Files.write(file, content);
+
+        assertThat(new ConfigSnapshotStore(codecs, BUILD, true, file).load()).isNull();
+    }
+
+    @Test
+    void ignoresSnapshotsWrittenByAnotherBuild() throws Exception {
+        Path file = directory.resolve("config.snapshot");
+        new ConfigSnapshotStore(codecs, BUILD, true, file).save(bundledSnapshot());
+
+        // Modelos, validação ou regras podem ter mudado: os arquivos precisam ser lidos de novo
+        assertThat(new ConfigSnapshotStore(codecs, BUILD + 1, true, file).load()).isNull();
+        assertThat(new ConfigSnapshotStore(codecs, ConfigSnapshotStore.UNKNOWN_BUILD, true, file).load()).isNull();
+    }
+
+    private ConfigurationSnapshot bundledSnapshot() throws Exception {
+        Map<ConfigSection, Object> sections = new EnumMap<>(ConfigSection.class);
+        Map<ConfigSection, Long> hashes = new EnumMap<>(ConfigSection.class);
+        for (ConfigSection section : ConfigSection.values()) {
+            try (InputStream in = new ClassPathResource("config/" + section.getFileName()).getInputStream()) {
+                sections.put(section, objectMapper.readValue(in, section.getType()));
+            }
+            hashes.put(section, 1000L + section.ordinal());
+        }
+        return ConfigurationSnapshot.EMPTY.next(sections, hashes).next(Map.of(), Map.of());
+    }
+}
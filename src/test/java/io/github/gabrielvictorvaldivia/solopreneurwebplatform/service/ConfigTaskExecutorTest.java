@@ -0,0 +1,36 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class ConfigTaskExecutorTest {
+
+    @Autowired
+    private AppConfigurationService configService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void reloadsRunOnTheConfigTaskExecutor() {
+        FunctionCounter completed = meterRegistry.get("executor.completed")
+                .tag("name", "configTaskExecutor")
+                .functionCounter();
+        double before = completed.count();
+
+        ConfigReload reload = configService.requestReload().await();
+
+        assertThat(reload.getStatus()).isEqualTo(ConfigReload.Status.COMPLETED);
+        // O reload termina dentro da tarefa; a contagem sobe quando a tarefa retorna
+        await().atMost(Duration.ofSeconds(5)).until(() -> completed.count() > before);
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConfigUpdateConflaterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConfigPatchLog patchLog = new ConfigPatchLog(8);
+    private final ConfigUpdateConflater conflater = new ConfigUpdateConflater(
+            patchLog, new ConfigCodecs(objectMapper), new ConfigMetrics(registry), true, Duration.ofSeconds(10));
+
+    @Test
+    void slowSessionReceivesOneMergedPatchToTheLatestVersion() throws Exception {
+        connect("s1");
+        List<Message<?>> resent = new ArrayList<>();
+        MessageChannel channel = (message, timeout) -> resent.add(message);
+
+        Message<?> v2 = update("s1", ConfigFormat.JSON, 1, 2, "{\"op\":\"replace\",\"path\":\"/ui/a\",\"value\":2}");
+        Message<?> v3 = update("s1", ConfigFormat.JSON, 2, 3, "{\"op\":\"replace\",\"path\":\"/ui/a\",\"value\":3}");
+        Message<?> v4 = update("s1", ConfigFormat.JSON, 3, 4, "{\"op\":\"add\",\"path\":\"/ui/b\",\"value\":4}");
+
+        assertThat(conflater.beforeHandle(v2, channel, null)).isSameAs(v2);
+        // v2 ainda em escrita: v3 e v4 ficam retidas e só a mais nova sobrevive
+        assertThat(conflater.beforeHandle(v3, channel, null)).isNull();
+        assertThat(conflater.beforeHandle(v4, channel, null)).isNull();
+        conflater.afterMessageHandled(v2, channel, null, null);
+
+        assertThat(resent).containsExactly(v4);
+        Message<?> merged = conflater.beforeHandle(v4, channel, null);
+        JsonNode payload = objectMapper.readTree((byte[]) merged.getPayload());
+        assertThat(payload.get("baseVersion").asLong()).isEqualTo(2);
+        assertThat(payload.get("version").asLong()).isEqualTo(4);
+        assertThat(payload.get("patch")).hasSize(2);
+        assertThat(registry.get("config.stomp.conflated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void eachFormatIsConflatedSeparatelyAndMergedInItsOwnEncoding() throws Exception {
+        connect("s2");
+        List<Message<?>> resent = new ArrayList<>();
+        MessageChannel channel = (message, timeout) -> resent.add(message);
+
+        Message<?> v2 = update("s2", ConfigFormat.CBOR, 1, 2, "{\"op\":\"replace\",\"path\":\"/ui/a\",\"value\":2}");
+        Message<?> v3 = update("s2", ConfigFormat.CBOR, 2, 3, "{\"op\":\"replace\",\"path\":\"/ui/a\",\"value\":3}");
+        Message<?> v4 = update("s2", ConfigFormat.CBOR, 3, 4, "{\"op\":\"add\",\"path\":\"/ui/b\",\"value\":4}");
+        Message<?> json3 = message("s2", ConfigFormat.JSON, 2, 3);
+
+        assertThat(conflater.beforeHandle(v2, channel, null)).isSameAs(v2);
+        assertThat(conflater.beforeHandle(v3, channel, null)).isNull();
+        // A mesma sessão assinando JSON não espera pela escrita em CBOR
+        assertThat(conflater.beforeHandle(json3, channel, null)).isSameAs(json3);
+        assertThat(conflater.beforeHandle(v4, channel, null)).isNull();
+        conflater.afterMessageHandled(v2, channel, null, null);
+
+        assertThat(resent).containsExactly(v4);
+        Message<?> merged = conflater.beforeHandle(v4, channel, null);
+        JsonNode payload = new ConfigCodecs(objectMapper).mapper(ConfigFormat.CBOR).readTree((byte[]) merged.getPayload());
+        assertThat(payload.get("baseVersion").asLong()).isEqualTo(2);
+        assertThat(payload.get("patch")).hasSize(2);
+        assertThat(merged.getHeaders().get(SimpMessageHeaderAccessor.NATIVE_HEADERS).toString()).contains("application/cbor");
+    }
+
+    @Test
+    void tenantUpdatesKeepTheirOwnLaneAndAreNotMergedFromTheGlobalLog() throws Exception {
+        connect("s3");
+        List<Message<?>> resent = new ArrayList<>();
+        MessageChannel channel = (message, timeout) -> resent.add(message);
+        String acme = ConfigUpdateConflater.destination("acme", ConfigFormat.JSON);
+
+        Message<?> global = update("s3", ConfigFormat.JSON, 1, 2, "{\"op\":\"replace\",\"path\":\"/ui/a\",\"value\":2}");
+        Message<?> t10 = message("s3", acme, ConfigFormat.JSON, 9, 10);
+        Message<?> t11 = message("s3", acme, ConfigFormat.JSON, 10, 11);
+        Message<?> t12 = message("s3", acme, ConfigFormat.JSON, 11, 12);
+
+        assertThat(conflater.beforeHandle(global, channel, null)).isSameAs(global);
+        assertThat(conflater.beforeHandle(t10, channel, null)).isSameAs(t10);
+        assertThat(conflater.beforeHandle(t11, channel, null)).isNull();
+        assertThat(conflater.beforeHandle(t12, channel, null)).isNull();
+        conflater.afterMessageHandled(t10, channel, null, null);
+
+        // Sem cadeia no log: o último delta segue intacto e o cliente busca /current do tenant
+        assertThat(resent).containsExactly(t12);
+        assertThat(conflater.beforeHandle(t12, channel, null)).isSameAs(t12);
+    }
+
+    private void connect(String sessionId) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        WebSocketHandler handler = conflater.decorate(new AbstractWebSocketHandler() {
+        });
+        handler.afterConnectionEstablished(session);
+    }
+
+    // Registra o delta no log (sempre em JSON) e devolve a mensagem do formato pedido
+    private Message<?> update(String sessionId, ConfigFormat format, long base, long version, String operation) {
+        byte[] payload = ("{\"type\":\"ui\",\"baseVersion\":" + base + ",\"version\":" + version
+                + ",\"patch\":[" + operation + "],\"timestamp\":" + version + "}").getBytes(StandardCharsets.UTF_8);
+        patchLog.append(base, version, payload);
+        return message(sessionId, format, base, version);
+    }
+
+    private Message<?> message(String sessionId, ConfigFormat format, long base, long version) {
+        return message(sessionId, ConfigUpdateConflater.destination(format), format, base, version);
+    }
+
+    private Message<?> message(String sessionId, String destination, ConfigFormat format, long base, long version) {
+        Message<byte[]> message = ConfigUpdateConflater.updateMessage(format, new byte[16], base, version);
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(message);
+        headers.setSessionId(sessionId);
+        headers.setDestination(destination);
+        return MessageBuilder.createMessage(message.getPayload(), headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.AppConfig;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfigValidatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private Object bundled(ConfigSection section) throws Exception {
+        return objectMapper.readValue(Path.of("src/main/resources/config", section.getFileName()).toFile(),
+                section.getType());
+    }
+
+    private Object edited(ConfigSection section, Consumer<JsonNode> edit) throws Exception {
+        JsonNode tree = objectMapper.readTree(Path.of("src/main/resources/config", section.getFileName()).toFile());
+        edit.accept(tree);
+        return objectMapper.treeToValue(tree, section.getType());
+    }
+
+    @Test
+    void bundledConfigurationsAreValid() throws Exception {
+        for (ConfigSection section : ConfigSection.values()) {
+            ConfigValidator.validate(section, bundled(section));
+        }
+    }
+
+    @Test
+    void boundCollectionsAreReadOnly() throws Exception {
+        UiConfig ui = (UiConfig) bundled(ConfigSection.UI);
+        FeatureFlags features = (FeatureFlags) edited(ConfigSection.FEATURES, tree ->
+                ((ObjectNode) tree).putObject("rules").putObject("y").putObject("attributes").putArray("plan").add("pro"));
+
+        // O snapshot publicado compartilha estes objetos com todos os leitores
+        assertThatThrownBy(() -> ui.getThemes().getAvailable().add("neon"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> features.getRules().remove("y"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> features.getRules().get("y").getAttributes().get("plan").clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void rejectsADashboardThatRefreshesTooOften() throws Exception {
+        AppConfig app = (AppConfig) edited(ConfigSection.APP,
+                tree -> ((ObjectNode) tree.at("/features/dashboard")).put("autoRefresh", 0));
+
+        assertThatThrownBy(() -> ConfigValidator.validate(ConfigSection.APP, app))
+                .isInstanceOfSatisfying(ConfigReloadException.class, e -> {
+                    assertThat(e.getStage()).isEqualTo(ConfigReload.Stage.VALIDATE);
+                    assertThat(e.getViolations()).singleElement().asString()
+                            .startsWith("features.dashboard.autoRefresh: 0");
+                });
+    }
+
+    @Test
+    void reportsEveryUiViolationAtOnce() throws Exception {
+        UiConfig ui = (UiConfig) edited(ConfigSection.UI, tree -> {
+            ((ObjectNode) tree.get("branding")).put("primaryColor", "blue");
+            ((ArrayNode) tree.at("/themes/available")).add("neon");
+            ((ObjectNode) tree.get("themes")).put("default", "sepia");
+        });
+
+        assertThatThrownBy(() -> ConfigValidator.validate(ConfigSection.UI, ui))
+                .isInstanceOfSatisfying(ConfigReloadException.class, e -> assertThat(e.getViolations()).containsExactly(
+                        "branding.primaryColor: cor inválida 'blue'",
+                        "themes.available: tema desconhecido 'neon'",
+                        "themes.default: 'sepia' não está em themes.available"));
+    }
+
+    @Test
+    void rejectsNullRulesAttributeListsAndValues() throws Exception {
+        FeatureFlags features = (FeatureFlags) edited(ConfigSection.FEATURES, tree -> {
+            ObjectNode rules = ((ObjectNode) tree).putObject("rules");
+            rules.putNull("x");
+            rules.putObject("y").putObject("attributes").putNull("plan");
+            rules.putObject("z").putArray("allow").add("a").addNull();
+        });
+
+        // Violações na validação, não NullPointerException na compilação das regras
+        assertThatThrownBy(() -> ConfigValidator.validate(ConfigSection.FEATURES, features))
+                .isInstanceOfSatisfying(ConfigReloadException.class, e -> assertThat(e.getViolations()).containsExactly(
+                        "rules.x: regra nula",
+                        "rules.y.attributes.plan: lista de valores nula",
+                        "rules.z.allow: valor nulo na lista"));
+    }
+}
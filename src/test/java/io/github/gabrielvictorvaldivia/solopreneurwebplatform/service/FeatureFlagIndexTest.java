@@ -0,0 +1,52 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeatureFlagIndexTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FeatureFlagIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FeatureFlags flags = objectMapper.readValue(
+                new ClassPathResource("config/feature-flags.json").getInputStream(), FeatureFlags.class);
+        index = FeatureFlagIndex.compile(flags, objectMapper);
+    }
+
+    @Test
+    void resolvesEveryFlagPath() {
+        assertThat(index.size()).isEqualTo(14);
+        assertThat(index.isEnabled("modules.invoicing")).isTrue();
+        assertThat(index.isEnabled("modules.integrations")).isFalse();
+        assertThat(index.isEnabled("beta.advancedReports")).isTrue();
+        assertThat(index.isEnabled("beta.aiAssistant")).isFalse();
+        assertThat(index.isEnabled("experimental.voiceCommands")).isFalse();
+        assertThat(index.isEnabled("permissions.canExportData")).isTrue();
+        assertThat(index.isEnabled("permissions.canAccessBetaFeatures")).isFalse();
+    }
+
+    @Test
+    void keepsBareModuleNamesCaseInsensitive() {
+        assertThat(index.isEnabled("invoicing")).isTrue();
+        assertThat(index.isEnabled("timetracking")).isTrue();
+        assertThat(index.isEnabled("TimeTracking")).isTrue();
+        assertThat(index.isEnabled("MODULES.CLIENTMANAGEMENT")).isTrue();
+        assertThat(index.ordinalOf("analytics")).isEqualTo(index.ordinalOf("modules.analytics"));
+    }
+
+    @Test
+    void unknownFlagsAreDisabled() {
+        assertThat(index.ordinalOf("modules.unknown")).isEqualTo(FeatureFlagIndex.NOT_FOUND);
+        assertThat(index.isEnabled("newDashboard")).isFalse();
+        assertThat(index.isEnabled((String) null)).isFalse();
+        assertThat(FeatureFlagIndex.compile(null, objectMapper).isEnabled("invoicing")).isFalse();
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.FeatureFlags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeatureFlagRulesTest {
+
+    private static final String FLAGS = """
+            {
+              "features": {
+                "beta": { "newDashboard": false, "aiAssistant": true },
+                "modules": { "invoicing": true }
+              },
+              "rules": {
+                "beta.newDashboard": { "percentage": 30, "allow": ["vip"], "deny": ["banned"] },
+                "beta.aiAssistant": { "attributes": { "plan": ["pro", "enterprise"] } },
+                "beta.unknown": { "percentage": 100 }
+              }
+            }
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FeatureFlagRules rules;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FeatureFlags flags = objectMapper.readValue(FLAGS, FeatureFlags.class);
+        FeatureFlagIndex index = FeatureFlagIndex.compile(flags, objectMapper);
+        rules = FeatureFlagRules.compile(flags, index);
+    }
+
+    @Test
+    void percentageRolloutIsDeterministicAndProportional() {
+        int enabled = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String subject = "user-" + i;
+            boolean first = rules.isEnabled("beta.newDashboard", subject, Map.of());
+            assertThat(rules.isEnabled("beta.newDashboard", subject, Map.of())).isEqualTo(first);
+            if (first) {
+                enabled++;
+            }
+        }
+        assertThat(enabled).isBetween(2_800, 3_200);
+    }
+
+    @Test
+    void bucketsAreStableAcrossRuns() {
+        // Valores fixos: qualquer mudança no hash mudaria o bucket dos usuários entre versões
+        assertThat(Murmur3.hash32("", 0)).isZero();
+        assertThat(Murmur3.hash32("user-1", 0)).isEqualTo(-1864989104);
+        assertThat(FeatureFlagRules.bucket(Murmur3.hash32("beta.newDashboard", 0), "user-1")).isEqualTo(2294);
+    }
+
+    @Test
+    void denyAndAllowListsWinOverRollout() {
+        assertThat(rules.isEnabled("beta.newDashboard", "vip", Map.of())).isTrue();
+        assertThat(rules.isEnabled("beta.newDashboard", "banned", Map.of())).isFalse();
+    }
+
+    @Test
+    void attributesMustMatch() {
+        assertThat(rules.isEnabled("beta.aiAssistant", "u1", Map.of("plan", "pro"))).isTrue();
+        assertThat(rules.isEnabled("beta.aiAssistant", "u1", Map.of("plan", "free"))).isFalse();
+        assertThat(rules.isEnabled("beta.aiAssistant", "u1", Map.of())).isFalse();
+    }
+
+    @Test
+    void flagsWithoutRulesOrSubjectUseGlobalValue() {
+        assertThat(rules.isEnabled("invoicing", "u1", Map.of())).isTrue();
+        assertThat(rules.isEnabled("beta.aiAssistant", null, Map.of())).isTrue();
+        assertThat(rules.isEnabled("beta.unknown", "u1", Map.of())).isFalse();
+    }
+
+    @Test
+    void theSubjectParameterIsNotATargetingAttribute() throws Exception {
+        FeatureFlags flags = objectMapper.readValue("""
+                {
+                  "features": { "beta": { "aiAssistant": false } },
+                  "rules": { "beta.aiAssistant": { "percentage": 100, "attributes": { "subject": ["alice"] } } }
+                }
+                """, FeatureFlags.class);
+        FeatureFlagRules subjectRules = FeatureFlagRules.compile(flags, FeatureFlagIndex.compile(flags, objectMapper));
+
+        // Como chega do controller: o map da query string também contém o subject
+        assertThat(subjectRules.isEnabled("beta.aiAssistant", "alice", Map.of("subject", "alice"))).isFalse();
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonMergePatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+
+    @Test
+    void overlaysMembersAndRemovesNulls() throws Exception {
+        JsonNode base = json("{\"branding\":{\"primaryColor\":\"#007bff\",\"logo\":\"/a.png\"},\"tags\":[1,2]}");
+
+        JsonNode merged = JsonMergePatch.apply(base,
+                json("{\"branding\":{\"primaryColor\":\"#ff0000\",\"logo\":null},\"tags\":[3]}"));
+
+        assertThat(merged).isEqualTo(json("{\"branding\":{\"primaryColor\":\"#ff0000\"},\"tags\":[3]}"));
+        assertThat(base.get("branding").get("primaryColor").asText()).isEqualTo("#007bff");
+    }
+
+    @Test
+    void emptyOverlayKeepsTheBase() throws Exception {
+        JsonNode base = json("{\"modules\":{\"invoicing\":true}}");
+
+        assertThat(JsonMergePatch.apply(base, json("{}"))).isEqualTo(base);
+    }
+}
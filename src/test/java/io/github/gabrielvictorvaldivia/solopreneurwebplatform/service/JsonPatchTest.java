@@ -0,0 +1,61 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+
+    @Test
+    void identicalTreesProduceNoOperations() throws Exception {
+        JsonNode tree = json("{\"branding\":{\"primaryColor\":\"#007bff\"}}");
+        assertThat(JsonPatch.diff(tree, tree.deepCopy(), "/ui")).isEmpty();
+    }
+
+    @Test
+    void changedLeafIsReplacedAtItsPointer() throws Exception {
+        JsonNode patch = JsonPatch.diff(
+                json("{\"branding\":{\"primaryColor\":\"#007bff\",\"logo\":\"/a.png\"}}"),
+                json("{\"branding\":{\"primaryColor\":\"#ff0000\",\"logo\":\"/a.png\"}}"),
+                "/ui");
+
+        assertThat(patch).hasSize(1);
+        assertThat(patch.get(0).get("op").asText()).isEqualTo("replace");
+        assertThat(patch.get(0).get("path").asText()).isEqualTo("/ui/branding/primaryColor");
+        assertThat(patch.get(0).get("value").asText()).isEqualTo("#ff0000");
+    }
+
+    @Test
+    void addsRemovesAndEscapesMemberNames() throws Exception {
+        JsonNode patch = JsonPatch.diff(
+                json("{\"old\":1,\"rules\":{}}"),
+                json("{\"rules\":{\"a/b~c\":true}}"),
+                "");
+
+        assertThat(patch).hasSize(2);
+        assertThat(patch.get(0).get("op").asText()).isEqualTo("remove");
+        assertThat(patch.get(0).get("path").asText()).isEqualTo("/old");
+        assertThat(patch.get(1).get("op").asText()).isEqualTo("add");
+        assertThat(patch.get(1).get("path").asText()).isEqualTo("/rules/a~1b~0c");
+    }
+
+    @Test
+    void changedArraysAreReplacedWhole() throws Exception {
+        JsonNode patch = JsonPatch.diff(
+                json("{\"available\":[\"light\",\"dark\"]}"),
+                json("{\"available\":[\"light\",\"dark\",\"auto\"]}"),
+                "/ui/themes");
+
+        assertThat(patch).hasSize(1);
+        assertThat(patch.get(0).get("path").asText()).isEqualTo("/ui/themes/available");
+        assertThat(patch.get(0).get("value")).hasSize(3);
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedConfigTest {
+
+    private final byte[] json = "{\"ui\":{\"colors\":[\"#007bff\",\"#007bff\",\"#007bff\"]}}".repeat(20)
+            .getBytes(StandardCharsets.UTF_8);
+    private final SerializedConfig serialized = SerializedConfig.of(new byte[][]{json, json, json});
+
+    @Test
+    void servesTheGzipVariantWithItsOwnEtag() throws Exception {
+        SerializedConfig.Representation gzip = serialized.select(ConfigFormat.JSON, "gzip, deflate");
+
+        assertThat(gzip.getCoding()).isEqualTo(ContentCoding.GZIP);
+        assertThat(gzip.getBody().length).isLessThan(json.length);
+        assertThat(gzip.getEtag()).isEqualTo(serialized.getEtag().replaceFirst("\"$", "-gzip\""));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(json);
+        }
+    }
+
+    @Test
+    void honorsAcceptEncodingQualities() {
+        assertThat(serialized.select(ConfigFormat.JSON, null).getCoding()).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(serialized.select(ConfigFormat.JSON, "gzip;q=0.5").getCoding()).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(serialized.select(ConfigFormat.JSON, "br;q=0, gzip").getCoding()).isEqualTo(ContentCoding.GZIP);
+        assertThat(serialized.select(ConfigFormat.JSON, "identity;q=0, compress").getCoding()).isEqualTo(ContentCoding.IDENTITY);
+    }
+
+    @Test
+    void keepsSmallBodiesUncompressed() {
+        byte[] small = "{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+        SerializedConfig tiny = SerializedConfig.of(new byte[][]{small, small, small});
+
+        assertThat(tiny.select(ConfigFormat.JSON, "br, gzip").getBody()).isSameAs(small);
+    }
+
+    @Test
+    void lazyBodiesCompressOnTheFirstCompressedRequestOnly() {
+        SerializedConfig lazy = SerializedConfig.lazy(new byte[][]{json, json, json});
+
+        assertThat(lazy.select(ConfigFormat.JSON, null).getBody()).isSameAs(json);
+        SerializedConfig.Representation br = lazy.select(ConfigFormat.JSON, "br");
+        // Mesma variante e ETag da compressão antecipada, e a mesma instância nos pedidos seguintes
+        assertThat(br.getEtag()).isEqualTo(serialized.select(ConfigFormat.JSON, "br").getEtag());
+        assertThat(lazy.select(ConfigFormat.JSON, "br")).isSameAs(br);
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SerializedSectionTest {
+
+    private final ConfigCodecs codecs = new ConfigCodecs(new ObjectMapper());
+    private final Map<String, Object> ui = Map.of("branding", Map.of("primaryColor", "#007bff", "logo", "logo.svg"));
+
+    @Test
+    void isReusedWhileTheSectionObjectIsUnchanged() throws Exception {
+        SerializedSection first = SerializedSection.of(ui, null, codecs);
+
+        assertThat(SerializedSection.of(ui, first, codecs)).isSameAs(first);
+        assertThat(SerializedSection.of(new HashMap<>(ui), first, codecs)).isNotSameAs(first);
+    }
+
+    @Test
+    void servesSubTreesByJsonPointer() throws Exception {
+        SerializedSection section = SerializedSection.of(ui, null, codecs);
+
+        SerializedConfig color = section.at("/branding/primaryColor");
+        assertThat(new String(color.getBody(), StandardCharsets.UTF_8)).isEqualTo("\"#007bff\"");
+        assertThat(section.at("/branding/primaryColor")).isSameAs(color);
+        assertThat(section.at("")).isSameAs(section.getBody());
+        assertThat(section.at("/branding/missing")).isNull();
+        assertThatThrownBy(() -> section.at("branding")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
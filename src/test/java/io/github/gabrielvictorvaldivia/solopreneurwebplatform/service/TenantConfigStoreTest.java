@@ -0,0 +1,154 @@
+package io.github.gabrielvictorvaldivia.solopreneurwebplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.metrics.ConfigMetrics;
+import io.github.gabrielvictorvaldivia.solopreneurwebplatform.model.UiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TenantConfigStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ConfigCodecs codecs = new ConfigCodecs(objectMapper);
+    private final AtomicReference<ConfigurationSnapshot> base = new AtomicReference<>();
+
+    @TempDir
+    Path tenantsDir;
+
+    private TenantConfigStore store;
+
+    private TenantConfigStore store(String cacheSpec) throws Exception {
+        base.set(bundled());
+        AppConfigurationService configService = mock(AppConfigurationService.class);
+        when(configService.getSnapshot()).thenAnswer(invocation -> base.get());
+
+        // Remontagens síncronas; o poll do watcher não é agendado
+        store = new TenantConfigStore(configService, objectMapper, codecs, mock(SimpMessagingTemplate.class),
+                mock(ScheduledExecutorService.class), Runnable::run, new ConfigMetrics(new SimpleMeterRegistry()),
+                tenantsDir, cacheSpec, Duration.ofMillis(500));
+        store.startWatcher();
+        return store;
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
+    private ConfigurationSnapshot bundled() throws Exception {
+        Map<ConfigSection, Object> sections = new EnumMap<>(ConfigSection.class);
+        for (ConfigSection section : ConfigSection.values()) {
+            sections.put(section, objectMapper.readValue(
+                    Path.of("src/main/resources/config", section.getFileName()).toFile(), section.getType()));
+        }
+        return ConfigurationSnapshot.of(1, Instant.now(), sections, new long[ConfigSection.values().length])
+                .assemble(codecs, objectMapper);
+    }
+
+    private void overlay(String tenant, String uiConfig) throws Exception {
+        Path directory = Files.createDirectories(tenantsDir.resolve(tenant));
+        Files.writeString(directory.resolve(ConfigSection.UI.getFileName()), uiConfig);
+    }
+
+    @Test
+    void mergesOverlaysOverTheBaseAndSharesUntouchedSections() throws Exception {
+        store("maximumSize=10");
+        overlay("acme", "{\"branding\":{\"primaryColor\":\"#112233\"}}");
+
+        ConfigurationSnapshot acme = store.getSnapshot("acme");
+
+        assertThat(acme.getUiConfig().getBranding().getPrimaryColor()).isEqualTo("#112233");
+        assertThat(acme.getUiConfig().getBranding().getSecondaryColor())
+                .isEqualTo(base.get().getUiConfig().getBranding().getSecondaryColor());
+        assertThat(acme.getAppConfig()).isSameAs(base.get().getAppConfig());
+        assertThat(acme.getSection(ConfigSection.APP)).isSameAs(base.get().getSection(ConfigSection.APP));
+        assertThat(store.getSnapshot("unknown")).isNull();
+        assertThat(store.getSnapshot("../acme")).isNull();
+    }
+
+    @Test
+    void anInvalidOverlayOnFirstLoadServesTheBase() throws Exception {
+        store("maximumSize=10");
+        overlay("acme", "{\"branding\":");
+
+        ConfigurationSnapshot acme = store.getSnapshot("acme");
+
+        assertThat(acme).isNotNull();
+        assertThat(acme.getUiConfig()).isSameAs(base.get().getUiConfig());
+    }
+
+    @Test
+    void aBaseChangeReMergesOnlyCachedTenants() throws Exception {
+        store("maximumSize=10");
+        overlay("acme", "{\"branding\":{\"primaryColor\":\"#112233\"}}");
+        overlay("beta", "{\"branding\":{\"primaryColor\":\"#445566\"}}");
+        ConfigurationSnapshot before = store.getSnapshot("acme");
+
+        ConfigurationSnapshot previous = base.get();
+        ObjectNode tree = objectMapper.valueToTree(previous.getUiConfig());
+        ((ObjectNode) tree.get("branding")).put("secondaryColor", "#abcdef");
+        UiConfig ui = objectMapper.treeToValue(tree, UiConfig.class);
+        base.set(previous.next(Map.of(ConfigSection.UI, ui), Map.of()).assemble(codecs, objectMapper, previous));
+        store.onBaseChanged(new AppConfigurationService.ConfigurationChangedEvent("ui", previous.getUiConfig(), ui));
+
+        ConfigurationSnapshot after = store.getSnapshot("acme");
+        assertThat(after.getVersion()).isGreaterThan(before.getVersion());
+        assertThat(after.getUiConfig().getBranding().getSecondaryColor()).isEqualTo("#abcdef");
+        assertThat(after.getUiConfig().getBranding().getPrimaryColor()).isEqualTo("#112233");
+        // Seção sem overlay nem mudança no base: o mesmo corpo serializado
+        assertThat(after.getSection(ConfigSection.APP)).isSameAs(before.getSection(ConfigSection.APP));
+        assertThat(tenants().asMap()).containsOnlyKeys("acme");
+    }
+
+    @Test
+    void evictionCancelsTheWatchKey() throws Exception {
+        store("maximumSize=1");
+        overlay("acme", "{}");
+        overlay("beta", "{}");
+
+        store.getSnapshot("acme");
+        WatchKey acmeKey = watched().keySet().iterator().next();
+        store.getSnapshot("beta");
+        tenants().cleanUp();
+
+        // O W-TinyLFU escolhe qual dos dois sai; a chave dele é cancelada e esquecida
+        await().atMost(Duration.ofSeconds(5)).until(() -> watched().size() == 1);
+        assertThat(tenants().asMap()).hasSize(1);
+        assertThat(watched().values()).containsExactlyElementsOf(tenants().asMap().keySet());
+        assertThat(acmeKey.isValid()).isEqualTo(tenants().asMap().containsKey("acme"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, ?> tenants() {
+        return (Cache<String, ?>) ReflectionTestUtils.getField(store, "tenants");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<WatchKey, String> watched() {
+        return (Map<WatchKey, String>) ReflectionTestUtils.getField(store, "watched");
+    }
+}